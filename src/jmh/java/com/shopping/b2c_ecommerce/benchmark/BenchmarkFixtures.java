@@ -0,0 +1,40 @@
+package com.shopping.b2c_ecommerce.benchmark;
+
+import com.shopping.b2c_ecommerce.dto.UserIdentity;
+import com.shopping.b2c_ecommerce.security.JwtKeyring;
+import com.shopping.b2c_ecommerce.security.JwtUtil;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Builds the security components the way Spring would, without starting a context.
+ */
+final class BenchmarkFixtures {
+
+    static final String SECRET = "benchmark-secret-key-that-is-at-least-32-bytes-long";
+
+    static final UserIdentity IDENTITY = new UserIdentity(42L, "admin@example.com", "ADMIN");
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtKeyring keyring() {
+        JwtKeyring keyring = new JwtKeyring("HS256", SECRET, "", "", event -> { });
+        keyring.init();
+        return keyring;
+    }
+
+    static JwtUtil jwtUtil(JwtKeyring keyring, long expirationMinutes) {
+        JwtUtil jwtUtil = new JwtUtil(keyring);
+        ReflectionTestUtils.setField(jwtUtil, "expirationMinutes", expirationMinutes);
+        return jwtUtil;
+    }
+
+    static String token(JwtKeyring keyring, String kind) {
+        return switch (kind) {
+            case "valid" -> jwtUtil(keyring, 1440).generateToken(IDENTITY);
+            case "expired" -> jwtUtil(keyring, -5).generateToken(IDENTITY);
+            case "malformed" -> "eyJhbGciOiJIUzI1NiJ9.not-a-real-payload.@@@";
+            default -> throw new IllegalArgumentException("Unknown token kind: " + kind);
+        };
+    }
+}
@@ -0,0 +1,67 @@
+package com.shopping.b2c_ecommerce.benchmark;
+
+import com.shopping.b2c_ecommerce.service.EmailOtpService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EmailOtpService.verifyOtp under contention: 8 threads checking wrong OTPs against a shared store.
+ * Wrong OTPs do not consume the entry, so the store stays the same size for the whole run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class EmailOtpBenchmark {
+
+    private static final int USERS = 10_000;
+
+    private EmailOtpService emailOtpService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        emailOtpService = new EmailOtpService();
+        ReflectionTestUtils.setField(emailOtpService, "mailSender", new NoOpMailSender());
+        emailOtpService.init();
+
+        for (int i = 0; i < USERS; i++) {
+            emailOtpService.sendOtp(email(i));
+        }
+    }
+
+    @Benchmark
+    public boolean verifyOtp() {
+        return emailOtpService.verifyOtp(email(ThreadLocalRandom.current().nextInt(USERS)), "invalid");
+    }
+
+    private static String email(int i) {
+        return "user" + i + "@example.com";
+    }
+
+    private static final class NoOpMailSender extends JavaMailSenderImpl {
+
+        @Override
+        public void send(SimpleMailMessage... simpleMessages) {
+            // Benchmarks never send mail
+        }
+    }
+}
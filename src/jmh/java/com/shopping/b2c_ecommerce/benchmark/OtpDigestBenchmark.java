@@ -0,0 +1,52 @@
+package com.shopping.b2c_ecommerce.benchmark;
+
+import com.shopping.b2c_ecommerce.security.OtpDigester;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU spent on the OTP per admin password reset: one digest when the OTP is issued plus one
+ * check when it is redeemed. BCrypt (cost 10, the previous scheme) against the keyed HMAC.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class OtpDigestBenchmark {
+
+    private static final String OTP = "A1B2C3";
+
+    private BCryptPasswordEncoder bcrypt;
+    private OtpDigester otpDigester;
+
+    @Setup
+    public void setUp() {
+        bcrypt = new BCryptPasswordEncoder(10);
+        otpDigester = new OtpDigester("", BenchmarkFixtures.SECRET);
+    }
+
+    @Benchmark
+    public boolean bcryptReset() {
+        String stored = bcrypt.encode(OTP);
+        return bcrypt.matches(OTP, stored);
+    }
+
+    @Benchmark
+    public boolean hmacReset() {
+        String stored = otpDigester.digest(OTP);
+        return otpDigester.matches(OTP, stored);
+    }
+}
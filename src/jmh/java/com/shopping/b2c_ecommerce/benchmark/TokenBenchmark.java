@@ -0,0 +1,66 @@
+package com.shopping.b2c_ecommerce.benchmark;
+
+import com.shopping.b2c_ecommerce.security.JwtKeyring;
+import com.shopping.b2c_ecommerce.security.JwtUtil;
+import com.shopping.b2c_ecommerce.security.TokenVerification;
+import com.shopping.b2c_ecommerce.security.TokenVerifier;
+import com.shopping.b2c_ecommerce.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token minting (JwtUtil.generateToken) and verification (TokenVerifier, VerifiedTokenCache).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenBenchmark {
+
+    @Param({"valid", "expired", "malformed"})
+    public String tokenKind;
+
+    private JwtUtil jwtUtil;
+    private TokenVerifier tokenVerifier;
+    private VerifiedTokenCache verifiedTokenCache;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtKeyring keyring = BenchmarkFixtures.keyring();
+
+        jwtUtil = BenchmarkFixtures.jwtUtil(keyring, 1440);
+        tokenVerifier = new TokenVerifier(keyring);
+        verifiedTokenCache = new VerifiedTokenCache(tokenVerifier, new SimpleMeterRegistry(), 10_000);
+        token = BenchmarkFixtures.token(keyring, tokenKind);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(BenchmarkFixtures.IDENTITY);
+    }
+
+    @Benchmark
+    public TokenVerification verify() {
+        return tokenVerifier.verify(token);
+    }
+
+    @Benchmark
+    public TokenVerification verifyCached() {
+        return verifiedTokenCache.verify(token);
+    }
+}
@@ -2,8 +2,10 @@ package com.shopping.b2c_ecommerce;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class ChampionsWorldAuthApplication {
 
 	public static void main(String[] args) {
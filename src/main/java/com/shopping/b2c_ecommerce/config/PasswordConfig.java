@@ -1,15 +1,84 @@
 package com.shopping.b2c_ecommerce.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
 
 @Configuration
 public class PasswordConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(PasswordConfig.class);
+
+    private static final String BCRYPT_ID = "bcrypt";
+
+    /**
+     * New hashes are written as {bcrypt}... at password-hashing.bcrypt.cost, which must be the same
+     * on every node: upgradeEncoding() reports any BCrypt hash below it as due for re-hashing, so
+     * nodes with different costs would keep re-hashing each other's passwords.
+     * Hashes without an {id} prefix (everything stored before this encoder) are read as plain BCrypt
+     * and are always due. With password-hashing.bcrypt.calibrate the startup only logs the cost this
+     * hardware could afford; it never changes the configured one.
+     */
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${password-hashing.bcrypt.cost:12}") int cost,
+            @Value("${password-hashing.bcrypt.calibrate:false}") boolean calibrate,
+            @Value("${password-hashing.bcrypt.target-millis:250}") long targetMillis,
+            @Value("${password-hashing.bcrypt.min-cost:10}") int minCost,
+            @Value("${password-hashing.bcrypt.max-cost:14}") int maxCost
+    ) {
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(
+                BCRYPT_ID,
+                Map.of(BCRYPT_ID, new BCryptPasswordEncoder(cost))
+        );
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder(cost));
+
+        log.info("Password encoder initialized. algorithm={}, cost={}", BCRYPT_ID, cost);
+
+        if (calibrate) {
+            int suggested = calibrateBcryptCost(targetMillis, minCost, maxCost);
+
+            if (suggested != cost) {
+                log.info("BCrypt cost {} fits the {}ms target on this node (configured: {}). "
+                        + "Change password-hashing.bcrypt.cost for the whole fleet to apply it",
+                        suggested, targetMillis, cost);
+            }
+        }
+
+        return encoder;
     }
-}
 
+    /**
+     * Highest BCrypt cost whose encode time stays within the target on this hardware.
+     * Each cost step doubles the work, so calibration stops as soon as the next step would overshoot.
+     */
+    static int calibrateBcryptCost(long targetMillis, int minCost, int maxCost) {
+
+        // Warm up the JIT so the first measurement is not inflated
+        new BCryptPasswordEncoder(4).encode("calibration");
+
+        int cost = minCost;
+
+        while (cost < maxCost) {
+            long start = System.nanoTime();
+            new BCryptPasswordEncoder(cost).encode("calibration");
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            log.debug("BCrypt calibration. cost={}, elapsedMillis={}", cost, elapsedMillis);
+
+            if (elapsedMillis * 2 > targetMillis) {
+                break;
+            }
+            cost++;
+        }
+
+        return cost;
+    }
+}
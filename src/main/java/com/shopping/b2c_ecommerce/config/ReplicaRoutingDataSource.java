@@ -0,0 +1,155 @@
+package com.shopping.b2c_ecommerce.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shopping.b2c_ecommerce.dto.UserIdentity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to the replicas (round robin) and everything else to the primary.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy: the read-only flag of a transaction is only
+ * visible once the transaction has started, so the physical connection has to be picked lazily.
+ *
+ * Read-your-writes: a user who ran a write transaction keeps reading from the primary for
+ * datasource-routing.sticky-seconds, so replica lag never hides their own change.
+ * Reads that must see every node's latest write (logins run unauthenticated, so stickiness
+ * cannot cover them) run inside {@link #onPrimary(Supplier)}.
+ * Every decision is counted as "datasource.routing" tagged with target and reason.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final List<DataSource> pools = new ArrayList<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Cache<Long, Boolean> recentWriters;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public ReplicaRoutingDataSource(
+            DataSource primary,
+            List<DataSource> replicas,
+            Duration stickyWindow,
+            MeterRegistry meterRegistry
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(stickyWindow)
+                .maximumSize(100_000)
+                .build();
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        pools.add(primary);
+
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = "replica-" + i;
+            targets.put(key, replicas.get(i));
+            replicaKeys.add(key);
+            pools.add(replicas.get(i));
+        }
+
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        Long userId = currentUserId();
+
+        if (!readOnly) {
+            if (userId != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                recentWriters.put(userId, Boolean.TRUE);
+            }
+            return route(PRIMARY, "write");
+        }
+
+        if (PINNED.get() != null) {
+            return route(PRIMARY, "pinned");
+        }
+
+        if (replicaKeys.isEmpty()) {
+            return route(PRIMARY, "no-replica");
+        }
+
+        if (userId != null && recentWriters.getIfPresent(userId) != null) {
+            return route(PRIMARY, "sticky");
+        }
+
+        String replica = replicaKeys.get(Math.floorMod(nextReplica.getAndIncrement(), replicaKeys.size()));
+        return route(replica, "read-only");
+    }
+
+    /**
+     * Runs {@code work} with its read-only transactions routed to the primary. The transaction
+     * has to start inside {@code work}: a connection already taken is not switched.
+     * Without routing (no ReplicaRoutingDataSource bean) this simply runs {@code work}.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+
+        if (PINNED.get() != null) {
+            return work.get();
+        }
+
+        PINNED.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            PINNED.remove();
+        }
+    }
+
+    private String route(String target, String reason) {
+
+        counters.computeIfAbsent(target + '|' + reason, k -> Counter.builder("datasource.routing")
+                        .description("Connections routed per target datasource")
+                        .tag("target", target)
+                        .tag("reason", reason)
+                        .register(meterRegistry))
+                .increment();
+
+        return target;
+    }
+
+    private static Long currentUserId() {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication != null && authentication.getPrincipal() instanceof UserIdentity identity) {
+            return identity.getUserId();
+        }
+        return null;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (DataSource pool : pools) {
+            if (pool instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
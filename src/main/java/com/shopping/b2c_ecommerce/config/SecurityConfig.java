@@ -1,5 +1,6 @@
 package com.shopping.b2c_ecommerce.config;
 
+import com.shopping.b2c_ecommerce.security.InternalApiKeyFilter;
 import com.shopping.b2c_ecommerce.security.JwtAuthenticationFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -17,9 +18,11 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final InternalApiKeyFilter internalApiKeyFilter;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, InternalApiKeyFilter internalApiKeyFilter) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.internalApiKeyFilter = internalApiKeyFilter;
     }
 
     @Bean
@@ -57,7 +60,10 @@ public class SecurityConfig {
                                 "/auth/register/phone/complete",
 
                                 // OAuth
-                                "/auth/oauth/google"
+                                "/auth/oauth/google",
+
+                                // Public signing keys
+                                "/.well-known/jwks.json"
                         ).permitAll()
 
                         // =========================
@@ -74,9 +80,26 @@ public class SecurityConfig {
                         .requestMatchers(
                                 "/auth/admin/**",
                                 "/auth/register/admin",
-                                "/auth/show-admins"
+                                "/auth/show-admins",
+                                "/auth/show-admins/export"
                         ).hasRole("SUPER_ADMIN")
 
+                        // =========================
+                        // INTERNAL SERVICE APIs (API key)
+                        // =========================
+                        .requestMatchers("/internal/**").hasRole("SERVICE")
+
+                        // =========================
+                        // ACTUATOR
+                        // =========================
+                        .requestMatchers("/actuator/health").permitAll()
+
+                        // Cache, pool and routing metrics: SUPER_ADMIN token or a service API key
+                        .requestMatchers(
+                                "/actuator/metrics",
+                                "/actuator/metrics/**"
+                        ).hasAnyRole("SUPER_ADMIN", "SERVICE")
+
                         // =========================
                         // EVERYTHING ELSE
                         // =========================
@@ -92,6 +115,12 @@ public class SecurityConfig {
                 .addFilterBefore(
                         jwtAuthenticationFilter,
                         UsernamePasswordAuthenticationFilter.class
+                )
+
+                // Runs after the JWT filter, so on /internal/** the API key decides the caller
+                .addFilterBefore(
+                        internalApiKeyFilter,
+                        UsernamePasswordAuthenticationFilter.class
                 );
 
         return http.build();
@@ -1,17 +1,22 @@
 package com.shopping.b2c_ecommerce.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.shopping.b2c_ecommerce.dto.*;
-import com.shopping.b2c_ecommerce.entity.User;
 import com.shopping.b2c_ecommerce.security.JwtUtil;
 import com.shopping.b2c_ecommerce.service.AuthService;
 import com.shopping.b2c_ecommerce.service.PasswordResetService;
+import com.shopping.b2c_ecommerce.service.RoleService;
 import com.shopping.b2c_ecommerce.service.UserService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 
@@ -21,17 +26,27 @@ public class AdminController {
 
     private static final Logger log = LoggerFactory.getLogger(AdminController.class);
 
+    private static final int MAX_ADMIN_PAGE_SIZE = 500;
+    private static final int MAX_BULK_ADMIN_IDS = 1000;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String NDJSON = "application/x-ndjson";
+
     private final AuthService authService;
     private final JwtUtil jwtUtil;
     private final UserService userService;
     private final PasswordResetService passwordResetService;
+    private final RoleService roleService;
+    private final ObjectMapper objectMapper;
 
 
-    public AdminController(AuthService authService, JwtUtil jwtUtil, UserService userService, PasswordResetService passwordResetService) {
+    public AdminController(AuthService authService, JwtUtil jwtUtil, UserService userService, PasswordResetService passwordResetService,
+                           RoleService roleService, ObjectMapper objectMapper) {
         this.authService = authService;
         this.jwtUtil = jwtUtil;
         this.userService = userService;
         this.passwordResetService = passwordResetService;
+        this.roleService = roleService;
+        this.objectMapper = objectMapper;
     }
 
     // REGISTER ADMIN (SUPER_ADMIN only)
@@ -73,17 +88,9 @@ public class AdminController {
             return ResponseEntity.badRequest().body("Invalid credentials");
         }
 
-        User user = userService.findByEmail(request.getEmail())
-                .orElseThrow(() -> new RuntimeException("Invalid credentials"));
-
-        if (!user.getActive())
-        {
-            log.warn("Login blocked. Account inactive. userId={}", user.getId());
-            return ResponseEntity.badRequest().body("Account is inactive");
-        }
-
+        // authenticate() already rejects unknown and inactive accounts
         String token = jwtUtil.generateToken(identity);
-        log.info("Admin login successful. userId={}", user.getId());
+        log.info("Admin login successful. userId={}", identity.getUserId());
 
         return ResponseEntity.ok(new LoginResponse(identity.getUserId(), identity.getEmail(), token));
     }
@@ -158,19 +165,80 @@ public class AdminController {
         return ResponseEntity.ok("Admin status updated successfully");
     }
 
-    // Show all admins
+    // CHANGE ACTIVE STATUS FOR MANY ADMINS (SUPER_ADMIN only); one result per id
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @PutMapping("/admin/bulk/status")
+    public ResponseEntity<?> updateAdminStatuses(@RequestBody AdminBulkStatusRequest request)
+    {
+        log.info("Bulk admin status update request. active={}", request.isActive());
+
+        ResponseEntity<?> invalid = validateBulkAdminIds(request.getAdminIds());
+        if (invalid != null)
+        {
+            return invalid;
+        }
+
+        List<AdminBulkResult> results = userService.changeAdminStatuses(request.getAdminIds(), request.isActive());
+
+        log.info("Bulk admin status update completed. count={}", results.size());
+        return ResponseEntity.ok(results);
+    }
+
+    // Show admins, one keyset page at a time (next page: afterId = X-Next-Cursor)
     @PreAuthorize("hasRole('SUPER_ADMIN')")
     @GetMapping("/show-admins")
-    public ResponseEntity<List<AdminSummaryResponse>> showAdmins()
+    public ResponseEntity<?> showAdmins(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) Boolean active)
     {
-        log.info("Fetch all admins request received");
+        log.info("Fetch admins request received. afterId={}, limit={}, active={}", afterId, limit, active);
+
+        if (limit < 1 || limit > MAX_ADMIN_PAGE_SIZE)
+        {
+            log.warn("Fetch admins failed. Invalid limit={}", limit);
+            return ResponseEntity.badRequest().body("limit must be between 1 and " + MAX_ADMIN_PAGE_SIZE);
+        }
 
-        List<AdminSummaryResponse> admins = userService.getAllAdmins();
+        List<AdminSummaryResponse> admins = userService.getAdminsPage(afterId, limit, active);
         log.info("Admins fetched successfully. count={}", admins.size());
 
+        // A full page may have a successor; a short one is the last
+        if (admins.size() == limit)
+        {
+            return ResponseEntity.ok()
+                    .header(NEXT_CURSOR_HEADER, String.valueOf(admins.get(admins.size() - 1).getId()))
+                    .body(admins);
+        }
+
         return ResponseEntity.ok(admins);
     }
 
+    // Export admins as NDJSON, written row by row while the database cursor is read
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @GetMapping("/show-admins/export")
+    public void exportAdmins(
+            @RequestParam(required = false) Boolean active,
+            HttpServletResponse response) throws IOException
+    {
+        log.info("Export admins request received. active={}", active);
+
+        response.setContentType(NDJSON);
+        OutputStream out = response.getOutputStream();
+
+        long count = userService.streamAdmins(active, admin -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(admin));
+                out.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+
+        out.flush();
+        log.info("Admins exported. count={}", count);
+    }
+
     // Hard Delete an ADMIN
     @PreAuthorize("hasRole('SUPER_ADMIN')")
     @DeleteMapping("/admin/delete/{adminId}")
@@ -185,4 +253,51 @@ public class AdminController {
         return ResponseEntity.ok(Map.of("message", "Admin deleted permanently"));
     }
 
+    // Hard Delete many ADMINs in one transaction; one result per id
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @PostMapping("/admin/bulk/delete")
+    public ResponseEntity<?> deleteAdmins(@RequestBody AdminBulkDeleteRequest request)
+    {
+        log.info("SUPER_ADMIN requested bulk hard delete of ADMINs");
+
+        ResponseEntity<?> invalid = validateBulkAdminIds(request.getAdminIds());
+        if (invalid != null)
+        {
+            return invalid;
+        }
+
+        List<AdminBulkResult> results = authService.hardDeleteAdmins(request.getAdminIds());
+
+        log.info("Bulk hard delete completed. count={}", results.size());
+        return ResponseEntity.ok(results);
+    }
+
+    // Reload the role registry after the roles table was changed
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @PostMapping("/admin/roles/refresh")
+    public ResponseEntity<?> refreshRoles()
+    {
+        log.info("Role registry refresh requested");
+
+        var roleIds = roleService.refresh();
+
+        return ResponseEntity.ok(Map.of("roles", roleIds));
+    }
+
+    private ResponseEntity<?> validateBulkAdminIds(List<Long> adminIds)
+    {
+        if (adminIds == null || adminIds.isEmpty())
+        {
+            log.warn("Bulk admin request failed. No adminIds supplied");
+            return ResponseEntity.badRequest().body("At least one adminId is required");
+        }
+
+        if (adminIds.size() > MAX_BULK_ADMIN_IDS)
+        {
+            log.warn("Bulk admin request failed. Too many adminIds. count={}", adminIds.size());
+            return ResponseEntity.badRequest().body("At most " + MAX_BULK_ADMIN_IDS + " adminIds per request");
+        }
+
+        return null;
+    }
 }
@@ -2,21 +2,21 @@ package com.shopping.b2c_ecommerce.controller;
 
 import com.shopping.b2c_ecommerce.dto.AddAddressRequest;
 import com.shopping.b2c_ecommerce.dto.AddressResponse;
-import com.shopping.b2c_ecommerce.dto.UserAddressResponse;
 import com.shopping.b2c_ecommerce.dto.UserIdentity;
 import com.shopping.b2c_ecommerce.entity.Address;
+import com.shopping.b2c_ecommerce.service.AddressListing;
 import com.shopping.b2c_ecommerce.service.AddressService;
-import com.shopping.b2c_ecommerce.util.Utilities;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/customer/addresses")
 @PreAuthorize("hasRole('CUSTOMER')")
@@ -25,11 +25,9 @@ public class CustomerAddressController {
     private static final Logger log = LoggerFactory.getLogger(CustomerAddressController.class);
 
     private final AddressService addressService;
-    private final Utilities utilities;
 
-    public CustomerAddressController(AddressService addressService, Utilities utilities) {
+    public CustomerAddressController(AddressService addressService) {
         this.addressService = addressService;
-        this.utilities = utilities;
     }
 
     // ADD ADDRESS (Customer)
@@ -66,8 +64,12 @@ public class CustomerAddressController {
     }
 
     //GET ADDRESS (CUSTOMER)
+    // Strong ETag from the user's address version; If-None-Match on an unchanged list gets a 304
+    // without the list being loaded or serialized
     @GetMapping
-    public ResponseEntity<List<UserAddressResponse>> getUserAddresses() {
+    public ResponseEntity<?> getUserAddresses(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
 
         log.info("Fetch addresses request received");
 
@@ -81,16 +83,24 @@ public class CustomerAddressController {
         Long userId = identity.getUserId();
         log.info("Fetching addresses for userId={}", userId);
 
-        List<Address> addresses = addressService.getAddressesByUserId(userId);
+        String etag = addressService.getAddressEtag(userId);
+
+        if (etagMatches(ifNoneMatch, etag)) {
+            log.info("Addresses not modified. userId={}", userId);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .build();
+        }
 
-        List<UserAddressResponse> response = addresses.stream()
-                .map(utilities::mapToResponse)
-                .toList();
+        AddressListing listing = addressService.getAddressListing(userId);
 
         log.info("Addresses fetched successfully. count={}, userId={}",
-                addresses.size(), userId);
+                listing.count(), userId);
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .eTag(listing.etag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(listing.json());
     }
 
     // UPDATE ADDRESS (Customer)
@@ -137,4 +147,26 @@ public class CustomerAddressController {
 
         return ResponseEntity.ok("Address Deleted Successfully");
     }
-}
\ No newline at end of file
+
+    // If-None-Match may list several tags or be "*"
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+
+            // GET uses weak comparison: W/"x" matches "x"
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
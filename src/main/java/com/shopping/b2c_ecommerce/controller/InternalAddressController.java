@@ -0,0 +1,65 @@
+package com.shopping.b2c_ecommerce.controller;
+
+import com.shopping.b2c_ecommerce.dto.AddressLookupRequest;
+import com.shopping.b2c_ecommerce.dto.UserAddressResponse;
+import com.shopping.b2c_ecommerce.service.AddressService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+// Service-to-service address reads (order, shipping); callers authenticate with X-Internal-Api-Key
+@RestController
+@RequestMapping("/internal/addresses")
+@PreAuthorize("hasRole('SERVICE')")
+public class InternalAddressController {
+
+    private static final Logger log = LoggerFactory.getLogger(InternalAddressController.class);
+
+    private static final int MAX_LOOKUP_IDS = 10_000;
+
+    private final AddressService addressService;
+
+    public InternalAddressController(AddressService addressService) {
+        this.addressService = addressService;
+    }
+
+    // BULK ADDRESS LOOKUP (by userIds or by addressIds)
+    @PostMapping("/lookup")
+    public ResponseEntity<?> lookupAddresses(
+            @RequestBody AddressLookupRequest request,
+            Authentication auth
+    ) {
+        boolean byUser = request.getUserIds() != null && !request.getUserIds().isEmpty();
+        boolean byAddress = request.getAddressIds() != null && !request.getAddressIds().isEmpty();
+
+        log.info("Bulk address lookup request received. service={}", auth.getName());
+
+        if (byUser == byAddress) {
+            log.warn("Bulk address lookup failed. Exactly one of userIds / addressIds required. service={}", auth.getName());
+            return ResponseEntity.badRequest().body("Provide either userIds or addressIds");
+        }
+
+        List<Long> ids = byUser ? request.getUserIds() : request.getAddressIds();
+
+        if (ids.size() > MAX_LOOKUP_IDS) {
+            log.warn("Bulk address lookup failed. Too many ids. count={}, service={}", ids.size(), auth.getName());
+            return ResponseEntity.badRequest().body("At most " + MAX_LOOKUP_IDS + " ids per request");
+        }
+
+        List<UserAddressResponse> addresses = byUser
+                ? addressService.findAddressesByUserIds(ids)
+                : addressService.findAddressesByIds(ids);
+
+        log.info("Bulk address lookup completed. ids={}, found={}, service={}", ids.size(), addresses.size(), auth.getName());
+
+        return ResponseEntity.ok(addresses);
+    }
+}
@@ -0,0 +1,58 @@
+package com.shopping.b2c_ecommerce.controller;
+
+import com.shopping.b2c_ecommerce.dto.TokenValidationResponse;
+import com.shopping.b2c_ecommerce.exception.InvalidTokenBatchException;
+import com.shopping.b2c_ecommerce.service.TokenValidationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+// Batch token validation for gateways; callers authenticate with X-Internal-Api-Key
+@RestController
+@RequestMapping("/internal/tokens")
+@PreAuthorize("hasRole('SERVICE')")
+public class InternalTokenController {
+
+    private static final Logger log = LoggerFactory.getLogger(InternalTokenController.class);
+
+    private static final int MAX_BATCH_TOKENS = 500;
+
+    private final TokenValidationService tokenValidationService;
+
+    public InternalTokenController(TokenValidationService tokenValidationService) {
+        this.tokenValidationService = tokenValidationService;
+    }
+
+    // BATCH TOKEN VALIDATION (results in submission order)
+    @PostMapping("/validate")
+    public ResponseEntity<List<TokenValidationResponse>> validateTokens(
+            @RequestBody List<String> tokens,
+            Authentication auth
+    ) {
+        log.debug("Batch token validation request received. service={}", auth.getName());
+
+        if (tokens == null || tokens.isEmpty()) {
+            log.warn("Batch token validation failed: No tokens supplied. service={}", auth.getName());
+            throw new InvalidTokenBatchException("At least one token is required");
+        }
+
+        if (tokens.size() > MAX_BATCH_TOKENS) {
+            log.warn("Batch token validation failed: Too many tokens. count={}, service={}", tokens.size(), auth.getName());
+            throw new InvalidTokenBatchException("At most " + MAX_BATCH_TOKENS + " tokens per request");
+        }
+
+        List<TokenValidationResponse> results = tokenValidationService.validateAll(tokens);
+
+        log.debug("Batch token validation completed. count={}, service={}", results.size(), auth.getName());
+
+        return ResponseEntity.ok(results);
+    }
+}
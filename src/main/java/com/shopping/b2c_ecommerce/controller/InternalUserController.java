@@ -0,0 +1,58 @@
+package com.shopping.b2c_ecommerce.controller;
+
+import com.shopping.b2c_ecommerce.dto.UserLookupRequest;
+import com.shopping.b2c_ecommerce.dto.UserLookupResponse;
+import com.shopping.b2c_ecommerce.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+// Service-to-service user resolution; callers authenticate with X-Internal-Api-Key
+@RestController
+@RequestMapping("/internal/users")
+@PreAuthorize("hasRole('SERVICE')")
+public class InternalUserController {
+
+    private static final Logger log = LoggerFactory.getLogger(InternalUserController.class);
+
+    private static final int MAX_LOOKUP_IDS = 1000;
+
+    private final UserService userService;
+
+    public InternalUserController(UserService userService) {
+        this.userService = userService;
+    }
+
+    // BULK USER LOOKUP (id -> email, mobile, provider, active)
+    @PostMapping("/lookup")
+    public ResponseEntity<?> lookupUsers(
+            @RequestBody UserLookupRequest request,
+            Authentication auth
+    ) {
+        log.info("Bulk user lookup request received. service={}", auth.getName());
+
+        if (request.getUserIds() == null || request.getUserIds().isEmpty()) {
+            log.warn("Bulk user lookup failed. No userIds supplied. service={}", auth.getName());
+            return ResponseEntity.badRequest().body("At least one userId is required");
+        }
+
+        if (request.getUserIds().size() > MAX_LOOKUP_IDS) {
+            log.warn("Bulk user lookup failed. Too many ids. count={}, service={}", request.getUserIds().size(), auth.getName());
+            return ResponseEntity.badRequest().body("At most " + MAX_LOOKUP_IDS + " userIds per request");
+        }
+
+        List<UserLookupResponse> users = userService.lookupUsers(request.getUserIds());
+
+        log.info("Bulk user lookup completed. ids={}, found={}, service={}", request.getUserIds().size(), users.size(), auth.getName());
+
+        return ResponseEntity.ok(users);
+    }
+}
@@ -0,0 +1,41 @@
+package com.shopping.b2c_ecommerce.controller;
+
+import com.shopping.b2c_ecommerce.security.JwtKeyring;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+public class JwksController {
+
+    private static final Logger log = LoggerFactory.getLogger(JwksController.class);
+
+    private final JwtKeyring keyring;
+    private final long maxAgeSeconds;
+
+    public JwksController(JwtKeyring keyring, @Value("${jwt.jwks.max-age-seconds:3600}") long maxAgeSeconds)
+    {
+        this.keyring = keyring;
+        this.maxAgeSeconds = maxAgeSeconds;
+    }
+
+    // PUBLIC SIGNING KEYS (For local token verification in other microservices)
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, List<Map<String, Object>>>> jwks()
+    {
+        List<Map<String, Object>> keys = keyring.publicJwks();
+        log.debug("JWKS requested. keyCount={}", keys.size());
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic())
+                .body(Map.of("keys", keys));
+    }
+}
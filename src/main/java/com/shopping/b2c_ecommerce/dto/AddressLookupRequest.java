@@ -0,0 +1,14 @@
+package com.shopping.b2c_ecommerce.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+// Exactly one of userIds / addressIds
+@Data
+public class AddressLookupRequest {
+
+    private List<Long> userIds;
+    private List<Long> addressIds;
+
+}
@@ -0,0 +1,10 @@
+package com.shopping.b2c_ecommerce.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class AdminBulkDeleteRequest {
+    private List<Long> adminIds;
+}
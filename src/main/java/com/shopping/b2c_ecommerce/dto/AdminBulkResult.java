@@ -0,0 +1,12 @@
+package com.shopping.b2c_ecommerce.dto;
+
+import com.shopping.b2c_ecommerce.enums.AdminBulkOutcome;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class AdminBulkResult {
+    private Long adminId;
+    private AdminBulkOutcome outcome;
+}
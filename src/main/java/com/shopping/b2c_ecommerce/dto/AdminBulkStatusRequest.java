@@ -0,0 +1,11 @@
+package com.shopping.b2c_ecommerce.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class AdminBulkStatusRequest {
+    private List<Long> adminIds;
+    private boolean active;
+}
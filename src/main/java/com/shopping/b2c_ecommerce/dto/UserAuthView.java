@@ -0,0 +1,28 @@
+package com.shopping.b2c_ecommerce.dto;
+
+import lombok.Data;
+
+/**
+ * What a login needs from users + user_roles, loaded in one joined query.
+ * roleName is null when the user has no role mapping.
+ */
+@Data
+public class UserAuthView {
+    private Long id;
+    private String email;
+    private String mobileNumber;
+    private String password;
+    private Boolean active;
+    private String provider;
+    private String roleName;
+
+    public UserAuthView(Long id, String email, String mobileNumber, String password, Boolean active, String provider, String roleName) {
+        this.id = id;
+        this.email = email;
+        this.mobileNumber = mobileNumber;
+        this.password = password;
+        this.active = active;
+        this.provider = provider;
+        this.roleName = roleName;
+    }
+}
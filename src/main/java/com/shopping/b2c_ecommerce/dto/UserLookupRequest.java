@@ -0,0 +1,12 @@
+package com.shopping.b2c_ecommerce.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class UserLookupRequest {
+
+    private List<Long> userIds;
+
+}
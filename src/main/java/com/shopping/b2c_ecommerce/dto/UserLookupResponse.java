@@ -0,0 +1,15 @@
+package com.shopping.b2c_ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Contact details other services may show for a user; never carries the password hash or role
+@Data
+@AllArgsConstructor
+public class UserLookupResponse {
+    private Long id;
+    private String email;
+    private String mobileNumber;
+    private String provider;
+    private Boolean active;
+}
@@ -0,0 +1,10 @@
+package com.shopping.b2c_ecommerce.enums;
+
+// Per-id result of a bulk admin status change or delete
+public enum AdminBulkOutcome {
+    UPDATED,
+    UNCHANGED,
+    DELETED,
+    NOT_FOUND,
+    NOT_ADMIN
+}
@@ -0,0 +1,16 @@
+package com.shopping.b2c_ecommerce.enums;
+
+public enum RoleName {
+    SUPER_ADMIN,
+    ADMIN,
+    CUSTOMER;
+
+    public boolean matches(String roleName) {
+        return name().equals(roleName);
+    }
+
+    // ADMIN or SUPER_ADMIN
+    public static boolean isAdmin(String roleName) {
+        return ADMIN.matches(roleName) || SUPER_ADMIN.matches(roleName);
+    }
+}
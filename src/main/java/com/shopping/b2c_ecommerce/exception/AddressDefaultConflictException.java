@@ -0,0 +1,7 @@
+package com.shopping.b2c_ecommerce.exception;
+
+public class AddressDefaultConflictException extends RuntimeException {
+    public AddressDefaultConflictException() {
+        super("Default address was changed concurrently, please retry");
+    }
+}
@@ -0,0 +1,7 @@
+package com.shopping.b2c_ecommerce.exception;
+
+public class InvalidTokenBatchException extends RuntimeException {
+    public InvalidTokenBatchException(String message) {
+        super(message);
+    }
+}
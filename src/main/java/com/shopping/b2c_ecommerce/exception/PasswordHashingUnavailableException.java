@@ -0,0 +1,15 @@
+package com.shopping.b2c_ecommerce.exception;
+
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public PasswordHashingUnavailableException(int retryAfterSeconds) {
+        super("Server is busy, please try again shortly");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
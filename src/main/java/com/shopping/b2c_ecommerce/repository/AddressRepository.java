@@ -1,20 +1,85 @@
 package com.shopping.b2c_ecommerce.repository;
 
+import com.shopping.b2c_ecommerce.dto.UserAddressResponse;
 import com.shopping.b2c_ecommerce.entity.Address;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface AddressRepository extends JpaRepository<Address, Long> {
 
-    List<Address> findByUserId(Long userId);
+    // Partial unique index: at most one is_default row per user
+    String DEFAULT_ADDRESS_INDEX = "uq_addresses_default_per_user";
 
-    boolean existsByUserId(Long userId);
+    // =========================
+    // RESPONSE PROJECTION
+    // =========================
+    // Reads straight into the response DTO: no entities, no User row (a.user.id is the FK column)
+    String RESPONSE_SELECT = """
+    SELECT new com.shopping.b2c_ecommerce.dto.UserAddressResponse(
+        a.id,
+        a.user.id,
+        a.label,
+        a.firstName,
+        a.lastName,
+        a.contactNumber,
+        a.email,
+        a.addressLine1,
+        a.addressLine2,
+        a.city,
+        a.state,
+        a.pincode,
+        a.country,
+        a.isDefault
+    )
+    FROM Address a
+""";
+
+    @Transactional(readOnly = true)
+    @Query(RESPONSE_SELECT + "WHERE a.user.id = :userId ORDER BY a.id")
+    List<UserAddressResponse> findResponsesByUserId(Long userId);
+
+    // Bulk lookups for internal callers; the caller bounds the IN list size
+    @Transactional(readOnly = true)
+    @Query(RESPONSE_SELECT + "WHERE a.user.id IN :userIds ORDER BY a.user.id, a.id")
+    List<UserAddressResponse> findResponsesByUserIdIn(Collection<Long> userIds);
+
+    @Transactional(readOnly = true)
+    @Query(RESPONSE_SELECT + "WHERE a.id IN :addressIds ORDER BY a.id")
+    List<UserAddressResponse> findResponsesByIdIn(Collection<Long> addressIds);
+
+    // Served by the partial unique index on the default address
+    @Query("SELECT CASE WHEN COUNT(a) > 0 THEN true ELSE false END FROM Address a WHERE a.user.id = :userId AND a.isDefault = true")
+    boolean hasDefault(Long userId);
 
     @Modifying
     @Query("UPDATE Address a SET a.isDefault = false WHERE a.user.id = :userId")
     void clearDefaultForUser(Long userId);
 
+    // Clears the current default unless it already is the given address
+    @Modifying
+    @Query("UPDATE Address a SET a.isDefault = false WHERE a.user.id = :userId AND a.isDefault = true AND a.id <> :addressId")
+    int clearDefaultForUserExcept(Long userId, Long addressId);
+
+    // After the default was deleted: the most recently updated remaining address takes over
+    @Modifying
+    @Query(value = """
+    UPDATE addresses
+    SET is_default = true
+    WHERE id = (
+            SELECT id FROM addresses
+            WHERE user_id = :userId
+            ORDER BY updated_at DESC NULLS LAST, id DESC
+            LIMIT 1
+      )
+      AND NOT EXISTS (
+            SELECT 1 FROM addresses WHERE user_id = :userId AND is_default
+      )
+""", nativeQuery = true)
+    int promoteMostRecentToDefault(Long userId);
+
 }
@@ -3,6 +3,10 @@ package com.shopping.b2c_ecommerce.repository;
 import com.shopping.b2c_ecommerce.entity.PasswordResetToken;
 import com.shopping.b2c_ecommerce.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface PasswordResetTokenRepository
@@ -10,5 +14,54 @@ public interface PasswordResetTokenRepository
 
     Optional<PasswordResetToken> findTopByUserOrderByCreatedAtDesc(User user);
 
-}
+    // =========================
+    // PURGE
+    // =========================
+    // Transaction-scoped: released automatically on commit / rollback
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:lockKey)", nativeQuery = true)
+    boolean tryAdvisoryXactLock(long lockKey);
+
+    // Two passes, each an index range that LIMIT can stop early. SKIP LOCKED lets concurrent
+    // work pass instead of waiting.
 
+    // Expired tokens, oldest first: a range scan on the expires_at index (V3)
+    @Modifying
+    @Query(value = """
+    DELETE FROM password_reset_tokens
+    WHERE id IN (
+        SELECT t.id
+        FROM password_reset_tokens t
+        WHERE t.expires_at < :now
+        ORDER BY t.expires_at
+        LIMIT :batchSize
+        FOR UPDATE SKIP LOCKED
+    )
+""", nativeQuery = true)
+    int deleteExpiredBatch(LocalDateTime now, int batchSize);
+
+    // Live tokens superseded by a newer token for the same user (only the latest is ever checked).
+    // After the expired pass only the short expires_at range of live tokens is left to walk, and
+    // the newer-token probe is an index lookup on (user_id, created_at DESC) (V2).
+    // A used token that is still the user's latest is kept until it expires, so it keeps
+    // shadowing any older token.
+    @Modifying
+    @Query(value = """
+    DELETE FROM password_reset_tokens
+    WHERE id IN (
+        SELECT t.id
+        FROM password_reset_tokens t
+        WHERE t.expires_at >= :now
+          AND EXISTS (
+                SELECT 1
+                FROM password_reset_tokens newer
+                WHERE newer.user_id = t.user_id
+                  AND newer.created_at > t.created_at
+          )
+        ORDER BY t.expires_at
+        LIMIT :batchSize
+        FOR UPDATE SKIP LOCKED
+    )
+""", nativeQuery = true)
+    int deleteSupersededBatch(LocalDateTime now, int batchSize);
+
+}
@@ -1,12 +1,23 @@
 package com.shopping.b2c_ecommerce.repository;
 
 import com.shopping.b2c_ecommerce.dto.AdminSummaryResponse;
+import com.shopping.b2c_ecommerce.dto.UserAuthView;
 import com.shopping.b2c_ecommerce.entity.User;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
@@ -18,6 +29,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByMobileNumber(String mobileNumber);
 
+    // =========================
+    // ADMIN LISTING (keyset pagination / streaming)
+    // =========================
+    // Filters on user_roles.role_id and walks user_id in order, so (role_id, user_id) serves both
+    // the range and the sort
+    @Transactional(readOnly = true)
     @Query("""
     SELECT new com.shopping.b2c_ecommerce.dto.AdminSummaryResponse(
         ur.user.id,
@@ -25,9 +42,164 @@ public interface UserRepository extends JpaRepository<User, Long> {
         ur.user.active
     )
     FROM UserRole ur
-    WHERE ur.role.name = 'ADMIN'
+    WHERE ur.role.id = :roleId
+      AND ur.user.id > :afterId
+      AND (:active IS NULL OR ur.user.active = :active)
+    ORDER BY ur.user.id
 """)
-    List<AdminSummaryResponse> findAllAdmins();
+    List<AdminSummaryResponse> findAdminsAfter(Long roleId, long afterId, Boolean active, Limit limit);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+    SELECT new com.shopping.b2c_ecommerce.dto.AdminSummaryResponse(
+        ur.user.id,
+        ur.user.email,
+        ur.user.active
+    )
+    FROM UserRole ur
+    WHERE ur.role.id = :roleId
+      AND (:active IS NULL OR ur.user.active = :active)
+    ORDER BY ur.user.id
+""")
+    Stream<AdminSummaryResponse> streamAdmins(Long roleId, Boolean active);
+
+    // =========================
+    // ADDRESS LIST VERSION (ETag of GET /customer/addresses)
+    // =========================
+    // Not mapped on User: only these two statements touch it, so entity saves never overwrite it
+    @Transactional(readOnly = true)
+    @Query(value = "SELECT address_version FROM users WHERE id = :userId", nativeQuery = true)
+    Optional<Long> findAddressVersion(Long userId);
+
+    // Also locks the user row, so one user's address writes run one at a time
+    @Modifying
+    @Query(value = "UPDATE users SET address_version = address_version + 1 WHERE id = :userId", nativeQuery = true)
+    int incrementAddressVersion(Long userId);
+
+    // =========================
+    // LOGIN IDENTITY (user + role in one query)
+    // =========================
+    String AUTH_VIEW_SELECT = """
+    SELECT new com.shopping.b2c_ecommerce.dto.UserAuthView(
+        u.id,
+        u.email,
+        u.mobileNumber,
+        u.password,
+        u.active,
+        u.provider,
+        r.name
+    )
+    FROM User u
+    LEFT JOIN UserRole ur ON ur.user = u
+    LEFT JOIN ur.role r
+""";
+
+    @Transactional(readOnly = true)
+    @Query(AUTH_VIEW_SELECT + "WHERE u.email = :email")
+    Optional<UserAuthView> findAuthViewByEmail(String email);
+
+    @Transactional(readOnly = true)
+    @Query(AUTH_VIEW_SELECT + "WHERE u.mobileNumber = :mobileNumber")
+    Optional<UserAuthView> findAuthViewByMobileNumber(String mobileNumber);
+
+    @Transactional(readOnly = true)
+    @Query(AUTH_VIEW_SELECT + "WHERE u.id = :id")
+    Optional<UserAuthView> findAuthViewById(Long id);
+
+    // Primary key IN list; callers bound the size
+    @Transactional(readOnly = true)
+    @Query(AUTH_VIEW_SELECT + "WHERE u.id IN :ids")
+    List<UserAuthView> findAuthViewsByIdIn(Collection<Long> ids);
+
+    // =========================
+    // PROVISIONING (user + role mapping in one statement)
+    // =========================
+    // ON CONFLICT DO NOTHING covers the unique email / mobile constraints: a duplicate (or a
+    // concurrent signup that won the race) inserts nothing and the query returns no id.
+    // No @Modifying: the statement ends in a SELECT over RETURNING, so it is run as a query and
+    // its (zero or one row) result set read; @Modifying would run executeUpdate and drop the id
+    @Transactional
+    @Query(value = """
+    WITH new_user AS (
+        INSERT INTO users (email, mobile_number, password, active, provider, provider_id, mobile_verified, created_at, updated_at)
+        VALUES (
+            CAST(:email AS varchar),
+            CAST(:mobileNumber AS varchar),
+            CAST(:password AS varchar),
+            true,
+            :provider,
+            CAST(:providerId AS varchar),
+            false,
+            now(),
+            now()
+        )
+        ON CONFLICT DO NOTHING
+        RETURNING id
+    ), new_role AS (
+        INSERT INTO user_roles (user_id, role_id)
+        SELECT id, :roleId FROM new_user
+    )
+    SELECT id FROM new_user
+""", nativeQuery = true)
+    Optional<Long> provisionUser(String email, String mobileNumber, String password, String provider, String providerId, Long roleId);
+
+    // =========================
+    // BULK ADMIN OPERATIONS
+    // =========================
+    // The ADMIN check is part of each statement, so a role change in between cannot slip through.
+    // Both return the ids they changed.
+
+    // Rows already in the target state are left alone
+    @Transactional
+    @Query(value = """
+    WITH updated AS (
+        UPDATE users u
+        SET active = :active, updated_at = :now
+        WHERE u.id IN (:ids)
+          AND u.active <> :active
+          AND EXISTS (
+                SELECT 1 FROM user_roles ur
+                WHERE ur.user_id = u.id AND ur.role_id = :adminRoleId
+          )
+        RETURNING u.id
+    )
+    SELECT id FROM updated
+""", nativeQuery = true)
+    List<Long> updateAdminsActive(Collection<Long> ids, boolean active, LocalDateTime now, Long adminRoleId);
+
+    // Reset tokens, role mapping and user row of every id that is an ADMIN. The role rows are
+    // locked (and re-checked after any wait) first; the foreign keys (NO ACTION) are checked at
+    // the end of the statement, after all three deletes
+    @Transactional
+    @Query(value = """
+    WITH target AS (
+        SELECT ur.user_id
+        FROM user_roles ur
+        WHERE ur.user_id IN (:ids)
+          AND ur.role_id = :adminRoleId
+        FOR UPDATE
+    ), tokens AS (
+        DELETE FROM password_reset_tokens t
+        USING target
+        WHERE t.user_id = target.user_id
+    ), roles AS (
+        DELETE FROM user_roles ur
+        USING target
+        WHERE ur.user_id = target.user_id
+    ), deleted AS (
+        DELETE FROM users u
+        USING target
+        WHERE u.id = target.user_id
+        RETURNING u.id
+    )
+    SELECT id FROM deleted
+""", nativeQuery = true)
+    List<Long> deleteAdmins(Collection<Long> ids, Long adminRoleId);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :userId AND u.password = :oldHash")
+    int updatePasswordHash(Long userId, String oldHash, String newHash);
 
 
 }
\ No newline at end of file
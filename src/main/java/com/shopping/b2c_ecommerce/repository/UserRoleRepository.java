@@ -8,6 +8,5 @@ import java.util.Optional;
 
 public interface UserRoleRepository extends JpaRepository<UserRole, Long> {
     Optional<UserRole> findByUser(User user);
-    void deleteByUserId(Long userId);
     boolean existsByUserIdAndRoleName(Long userId, String roleName);
 }
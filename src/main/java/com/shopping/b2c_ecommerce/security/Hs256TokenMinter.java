@@ -0,0 +1,111 @@
+package com.shopping.b2c_ecommerce.security;
+
+import javax.crypto.Mac;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+
+/**
+ * Allocation-lean HS256 minting for the fixed claim set (sub, userId, role, iat, exp).
+ *
+ * The encoded header is computed once per key and the Mac is reused per thread, so a login
+ * costs one small JSON string, one HMAC and the base64url encodings. The output has the
+ * same header and claim layout jjwt produces, so TokenVerifier accepts it unchanged.
+ */
+final class Hs256TokenMinter {
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final SigningKey key;
+    private final String encodedHeader;
+    private final ThreadLocal<Mac> mac;
+
+    Hs256TokenMinter(SigningKey key) {
+        this.key = key;
+
+        StringBuilder header = new StringBuilder(64).append('{');
+        if (key.keyId() != null) {
+            header.append("\"kid\":");
+            appendJsonString(header, key.keyId());
+            header.append(',');
+        }
+        header.append("\"alg\":\"HS256\"}");
+
+        this.encodedHeader = BASE64_URL.encodeToString(header.toString().getBytes(StandardCharsets.UTF_8));
+        this.mac = ThreadLocal.withInitial(this::newMac);
+    }
+
+    SigningKey key() {
+        return key;
+    }
+
+    String mint(String subject, Long userId, String role, long issuedAtSeconds, long expiresAtSeconds) {
+
+        // Same claim order as the jjwt builder; null claims are omitted, as jjwt does
+        StringBuilder payload = new StringBuilder(160).append('{');
+
+        if (subject != null) {
+            payload.append("\"sub\":");
+            appendJsonString(payload, subject);
+            payload.append(',');
+        }
+        if (userId != null) {
+            payload.append("\"userId\":").append(userId.longValue()).append(',');
+        }
+        if (role != null) {
+            payload.append("\"role\":");
+            appendJsonString(payload, role);
+            payload.append(',');
+        }
+        payload.append("\"iat\":").append(issuedAtSeconds)
+                .append(",\"exp\":").append(expiresAtSeconds)
+                .append('}');
+
+        String signingInput = encodedHeader + '.'
+                + BASE64_URL.encodeToString(payload.toString().getBytes(StandardCharsets.UTF_8));
+
+        // Header and payload are base64url, so the signing input is pure ASCII
+        byte[] signature = mac.get().doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+
+        return signingInput + '.' + BASE64_URL.encodeToString(signature);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac instance = Mac.getInstance("HmacSHA256");
+            instance.init(key.signingKey());
+            return instance;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Unable to initialize HmacSHA256", ex);
+        }
+    }
+
+    private static void appendJsonString(StringBuilder out, String value) {
+
+        out.append('"');
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                case '\b' -> out.append("\\b");
+                case '\f' -> out.append("\\f");
+                default -> {
+                    // Upper-case hex, as Jackson (jjwt's serializer) writes it
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04X", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+
+        out.append('"');
+    }
+}
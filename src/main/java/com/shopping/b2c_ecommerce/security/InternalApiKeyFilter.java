@@ -0,0 +1,166 @@
+package com.shopping.b2c_ecommerce.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Authenticates service-to-service calls on /internal/** by a shared API key.
+ *
+ * Keys are configured per calling service as internal-api.keys = "order-service:key1,shipping-service:key2".
+ * A matching X-Internal-Api-Key header authenticates the caller as that service with ROLE_SERVICE;
+ * a missing or unknown key is rejected with 401. With no keys configured every internal call is rejected.
+ *
+ * /actuator/metrics also accepts a key (for scrapers); there a request without the header falls
+ * through to the JWT authentication instead.
+ */
+@Component
+public class InternalApiKeyFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(InternalApiKeyFilter.class);
+
+    public static final String API_KEY_HEADER = "X-Internal-Api-Key";
+
+    private static final String INTERNAL_PATH_PREFIX = "/internal/";
+    private static final String METRICS_PATH = "/actuator/metrics";
+
+    private static final RateLimitedLog rejectedKeyLog = new RateLimitedLog(log, 20);
+
+    private final List<ServiceKey> serviceKeys;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public InternalApiKeyFilter(@Value("${internal-api.keys:}") String keys) {
+        this.serviceKeys = parseKeys(keys);
+        log.info("Internal API keys loaded. services={}", serviceKeys.stream().map(ServiceKey::service).toList());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !isInternal(request) && !isMetrics(request);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        String presented = request.getHeader(API_KEY_HEADER);
+
+        // Metrics may instead be read with a SUPER_ADMIN token
+        if (presented == null && !isInternal(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String service = resolveService(presented);
+
+        if (service == null) {
+            rejectedKeyLog.warn("Request with missing or unknown internal API key: {}", request.getRequestURI());
+            SecurityContextHolder.clearContext();
+            sendErrorResponse(response);
+            return; // Stop filter chain
+        }
+
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(
+                        service,
+                        null,
+                        List.of(new SimpleGrantedAuthority("ROLE_SERVICE"))
+                );
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        filterChain.doFilter(request, response);
+    }
+
+    private static boolean isInternal(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + INTERNAL_PATH_PREFIX);
+    }
+
+    private static boolean isMetrics(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.equals(METRICS_PATH) || path.startsWith(METRICS_PATH + "/");
+    }
+
+    // Constant-time comparison against every key, so timing does not reveal a partial match
+    private String resolveService(String presented) {
+
+        if (presented == null || presented.isBlank()) {
+            return null;
+        }
+
+        byte[] presentedBytes = presented.getBytes(StandardCharsets.UTF_8);
+        String match = null;
+
+        for (ServiceKey serviceKey : serviceKeys) {
+            if (MessageDigest.isEqual(serviceKey.key(), presentedBytes)) {
+                match = serviceKey.service();
+            }
+        }
+        return match;
+    }
+
+    private static List<ServiceKey> parseKeys(String keys) {
+
+        if (keys == null || keys.isBlank()) {
+            return List.of();
+        }
+
+        Map<String, ServiceKey> byService = new HashMap<>();
+
+        for (String entry : keys.split(",")) {
+
+            int separator = entry.indexOf(':');
+            String service = separator > 0 ? entry.substring(0, separator).trim() : "";
+            String key = separator > 0 ? entry.substring(separator + 1).trim() : "";
+
+            if (service.isEmpty() || key.isEmpty()) {
+                throw new IllegalStateException("internal-api.keys entries must be service:key");
+            }
+
+            if (byService.put(service, new ServiceKey(service, key.getBytes(StandardCharsets.UTF_8))) != null) {
+                throw new IllegalStateException("Duplicate service in internal-api.keys: " + service);
+            }
+        }
+
+        return List.copyOf(byService.values());
+    }
+
+    private void sendErrorResponse(HttpServletResponse response) throws IOException {
+
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("message", "Invalid internal API key");
+
+        response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+        response.getWriter().flush();
+    }
+
+    private record ServiceKey(String service, byte[] key) {
+    }
+}
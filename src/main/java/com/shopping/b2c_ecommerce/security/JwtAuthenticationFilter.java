@@ -1,13 +1,6 @@
 package com.shopping.b2c_ecommerce.security;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.shopping.b2c_ecommerce.dto.UserIdentity;
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.MalformedJwtException;
-import io.jsonwebtoken.security.Keys;
-import io.jsonwebtoken.security.SignatureException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,7 +8,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.lang.NonNull;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -23,9 +15,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import javax.crypto.SecretKey;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -35,11 +25,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
-    @Value("${jwt.secret}")
-    private String secret;
+    // Invalid tokens are attacker-controlled volume; cap the log writes they can cause
+    private static final RateLimitedLog invalidTokenLog = new RateLimitedLog(log, 20);
+
+    private final TokenVerifier tokenVerifier;
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    public JwtAuthenticationFilter(TokenVerifier tokenVerifier) {
+        this.tokenVerifier = tokenVerifier;
+    }
+
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
@@ -53,71 +49,68 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
             String token = authHeader.substring(7);
 
-            try {
-                SecretKey key = Keys.hmacShaKeyFor(
-                        secret.getBytes(StandardCharsets.UTF_8)
-                );
-
-                Claims claims = Jwts.parserBuilder()
-                        .setSigningKey(key)
-                        .build()
-                        .parseClaimsJws(token)
-                        .getBody();
+            TokenVerification verification = tokenVerifier.verify(token);
 
-                String email = claims.getSubject();
-                String role = claims.get("role", String.class);
+            switch (verification.status()) {
 
-                // Normalize role
-                String normalizedRole = role.startsWith("ROLE_") ? role : "ROLE_" + role;
-                Long userId = claims.get("userId", Long.class);
+                case VALID -> {
+                    String role = verification.role();
 
-                UserIdentity identity = new UserIdentity(userId, email, role);
+                    if (role == null) {
+                        invalidTokenLog.warn("Token without role for request: {}", request.getRequestURI());
+                        SecurityContextHolder.clearContext();
+                        sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED, "Authentication failed");
+                        return; // Stop filter chain
+                    }
 
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                identity,
-                                null,
-                                List.of(new SimpleGrantedAuthority(normalizedRole))
-                        );
+                    // Normalize role
+                    String normalizedRole = role.startsWith("ROLE_") ? role : "ROLE_" + role;
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(
+                                    verification.toIdentity(),
+                                    null,
+                                    List.of(new SimpleGrantedAuthority(normalizedRole))
+                            );
 
-            } catch (ExpiredJwtException ex) {
-                log.warn("Token expired for request: {}", request.getRequestURI());
-                SecurityContextHolder.clearContext();
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
 
-                // ✅ Extract user info from expired token
-                Claims claims = ex.getClaims();
-                Long userId = claims.get("userId", Long.class);
-                String role = claims.get("role", String.class);
+                case EXPIRED -> {
+                    invalidTokenLog.warn("Token expired for request: {}", request.getRequestURI());
+                    SecurityContextHolder.clearContext();
 
-                // Return 401 with error message AND user info
-                sendExpiredTokenResponse(response, userId, role);
-                return; // Stop filter chain
+                    // Return 401 with error message AND user info from the expired token
+                    sendExpiredTokenResponse(response, verification.userId(), verification.role());
+                    return; // Stop filter chain
+                }
 
-            } catch (MalformedJwtException ex) {
-                log.warn("Malformed token for request: {}", request.getRequestURI());
-                SecurityContextHolder.clearContext();
+                case MALFORMED -> {
+                    invalidTokenLog.warn("Malformed token for request: {}", request.getRequestURI());
+                    SecurityContextHolder.clearContext();
 
-                // Return 401 with specific error message
-                sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED, "Invalid token format");
-                return; // Stop filter chain
+                    // Return 401 with specific error message
+                    sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED, "Invalid token format");
+                    return; // Stop filter chain
+                }
 
-            } catch (SignatureException ex) {
-                log.warn("Invalid token signature for request: {}", request.getRequestURI());
-                SecurityContextHolder.clearContext();
+                case BAD_SIGNATURE -> {
+                    invalidTokenLog.warn("Invalid token signature for request: {}", request.getRequestURI());
+                    SecurityContextHolder.clearContext();
 
-                // Return 401 with specific error message
-                sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED, "Invalid token signature");
-                return; // Stop filter chain
+                    // Return 401 with specific error message
+                    sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED, "Invalid token signature");
+                    return; // Stop filter chain
+                }
 
-            } catch (Exception ex) {
-                log.error("Token validation error for request: {}", request.getRequestURI(), ex);
-                SecurityContextHolder.clearContext();
+                default -> {
+                    invalidTokenLog.warn("Token validation error for request: {}", request.getRequestURI());
+                    SecurityContextHolder.clearContext();
 
-                // Return 401 with generic error message
-                sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED, "Authentication failed");
-                return; // Stop filter chain
+                    // Return 401 with generic error message
+                    sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED, "Authentication failed");
+                    return; // Stop filter chain
+                }
             }
         }
 
@@ -0,0 +1,7 @@
+package com.shopping.b2c_ecommerce.security;
+
+/**
+ * Published by {@link JwtKeyring} after a keyring file change has been applied.
+ */
+public record JwtKeyringReloadedEvent(String activeKid) {
+}
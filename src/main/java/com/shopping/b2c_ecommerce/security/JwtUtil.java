@@ -1,43 +1,72 @@
 package com.shopping.b2c_ecommerce.security;
 
 import com.shopping.b2c_ecommerce.dto.UserIdentity;
-import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.nio.charset.StandardCharsets;
 import java.util.Date;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    private final JwtKeyring keyring;
 
     @Value("${jwt.expiration-minutes}")
     private long expirationMinutes;
 
+    // Rebuilt only when the keyring's active key changes
+    private volatile Hs256TokenMinter hs256Minter;
+
+    public JwtUtil(JwtKeyring keyring) {
+        this.keyring = keyring;
+    }
+
     public String  generateToken(UserIdentity identity) {
 
         long expiryMillis = expirationMinutes * 60 * 1000;
+        long nowMillis = System.currentTimeMillis();
+        SigningKey key = keyring.activeKey();
 
-        return Jwts.builder()
+        // HS256 (the default) is minted directly; other algorithms go through jjwt
+        if (key.algorithm() == SignatureAlgorithm.HS256) {
+            return hs256Minter(key).mint(
+                    identity.getEmail(),
+                    identity.getUserId(),
+                    identity.getRole(),
+                    nowMillis / 1000,
+                    (nowMillis + expiryMillis) / 1000
+            );
+        }
+
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(identity.getEmail())
                 .claim("userId", identity.getUserId())
                 .claim("role", identity.getRole())
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + expiryMillis))
-                .signWith(SignatureAlgorithm.HS256, secret.getBytes(StandardCharsets.UTF_8))
+                .setIssuedAt(new Date(nowMillis))
+                .setExpiration(new Date(nowMillis + expiryMillis));
+
+        // kid lets verifiers pick the matching public key from the JWKS
+        if (key.keyId() != null) {
+            builder.setHeaderParam("kid", key.keyId());
+        }
+
+        return builder
+                .signWith(key.signingKey(), key.algorithm())
                 .compact();
     }
 
-    public Claims validateAndExtractClaims(String token)
-    {
-        return Jwts.parser()
-                .setSigningKey(secret.getBytes(StandardCharsets.UTF_8))
-                .parseClaimsJws(token)
-                .getBody();
+    private Hs256TokenMinter hs256Minter(SigningKey key) {
+
+        Hs256TokenMinter minter = hs256Minter;
+
+        if (minter == null || minter.key() != key) {
+            minter = new Hs256TokenMinter(key);
+            hs256Minter = minter;
+        }
+
+        return minter;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,58 @@
+package com.shopping.b2c_ecommerce.security;
+
+import org.slf4j.Logger;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps how many warnings per second a logger writes for invalid tokens.
+ * Suppressed messages are counted and reported with the next one that gets through.
+ */
+public final class RateLimitedLog {
+
+    private static final long WINDOW_MILLIS = 1000;
+
+    private final Logger log;
+    private final int maxPerSecond;
+
+    private final AtomicLong windowStart = new AtomicLong();
+    private final AtomicInteger windowCount = new AtomicInteger();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public RateLimitedLog(Logger log, int maxPerSecond) {
+        this.log = log;
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    public void warn(String format, Object... args) {
+
+        if (!log.isWarnEnabled()) {
+            return;
+        }
+
+        if (!tryAcquire()) {
+            suppressed.incrementAndGet();
+            return;
+        }
+
+        long dropped = suppressed.getAndSet(0);
+        if (dropped > 0) {
+            log.warn("Suppressed {} similar invalid-token warnings", dropped);
+        }
+
+        log.warn(format, args);
+    }
+
+    private boolean tryAcquire() {
+
+        long now = System.currentTimeMillis();
+        long start = windowStart.get();
+
+        if (now - start >= WINDOW_MILLIS && windowStart.compareAndSet(start, now)) {
+            windowCount.set(0);
+        }
+
+        return windowCount.incrementAndGet() <= maxPerSecond;
+    }
+}
@@ -0,0 +1,19 @@
+package com.shopping.b2c_ecommerce.security;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+
+import java.security.Key;
+import java.security.interfaces.RSAPublicKey;
+
+/**
+ * One JWT key. For HS256 the signing and verification keys are the same secret and
+ * there is no public key; for RS256 the public key is what gets published in the JWKS.
+ */
+public record SigningKey(
+        String keyId,
+        SignatureAlgorithm algorithm,
+        Key signingKey,
+        Key verificationKey,
+        RSAPublicKey publicKey
+) {
+}
@@ -0,0 +1,61 @@
+package com.shopping.b2c_ecommerce.security;
+
+/**
+ * Cheap structural checks run before any parsing or crypto.
+ * Garbage bearer values (bots, credential stuffing) are rejected without a jjwt exception.
+ */
+final class TokenPrecheck {
+
+    // Smallest plausible JWS: a base64url "{"alg":"HS256"}" header alone is 20 characters
+    static final int MIN_LENGTH = 32;
+
+    // Well above any token we issue, and within Tomcat's default 8 KB header limit
+    static final int MAX_LENGTH = 8192;
+
+    private TokenPrecheck() {
+    }
+
+    /**
+     * True when the token has three non-empty base64url segments separated by dots
+     * and a length within bounds.
+     */
+    static boolean isWellFormed(String token) {
+
+        if (token == null) {
+            return false;
+        }
+
+        int length = token.length();
+        if (length < MIN_LENGTH || length > MAX_LENGTH) {
+            return false;
+        }
+
+        int dots = 0;
+        int segmentLength = 0;
+
+        for (int i = 0; i < length; i++) {
+            char c = token.charAt(i);
+
+            if (c == '.') {
+                if (segmentLength == 0 || ++dots > 2) {
+                    return false;
+                }
+                segmentLength = 0;
+            } else if (isBase64Url(c)) {
+                segmentLength++;
+            } else {
+                return false;
+            }
+        }
+
+        return dots == 2 && segmentLength > 0;
+    }
+
+    private static boolean isBase64Url(char c) {
+        return (c >= 'A' && c <= 'Z')
+                || (c >= 'a' && c <= 'z')
+                || (c >= '0' && c <= '9')
+                || c == '-'
+                || c == '_';
+    }
+}
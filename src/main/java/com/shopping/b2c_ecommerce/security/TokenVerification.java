@@ -0,0 +1,38 @@
+package com.shopping.b2c_ecommerce.security;
+
+import com.shopping.b2c_ecommerce.dto.UserIdentity;
+
+import java.time.Instant;
+
+/**
+ * Outcome of verifying a bearer token.
+ * Identity fields are populated for VALID and EXPIRED tokens, null otherwise.
+ */
+public record TokenVerification(
+        Status status,
+        Long userId,
+        String email,
+        String role,
+        Instant expiresAt
+) {
+
+    public enum Status {
+        VALID,
+        EXPIRED,
+        MALFORMED,
+        BAD_SIGNATURE,
+        INVALID
+    }
+
+    public static TokenVerification rejected(Status status) {
+        return new TokenVerification(status, null, null, null, null);
+    }
+
+    public boolean isValid() {
+        return status == Status.VALID;
+    }
+
+    public UserIdentity toIdentity() {
+        return new UserIdentity(userId, email, role);
+    }
+}
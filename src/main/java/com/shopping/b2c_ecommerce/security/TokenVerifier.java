@@ -0,0 +1,112 @@
+package com.shopping.b2c_ecommerce.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.RequiredTypeException;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.SignatureException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.security.Key;
+import java.util.Date;
+
+/**
+ * Verifies bearer tokens for the JWT filter and the token validation endpoint.
+ * The parser is built once; JwtParser is immutable and thread-safe, and keys come from the keyring by kid.
+ */
+@Component
+public class TokenVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenVerifier.class);
+
+    private static final RateLimitedLog rateLimitedLog = new RateLimitedLog(log, 10);
+
+    private final JwtParser parser;
+
+    public TokenVerifier(JwtKeyring keyring) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new KeyringResolver(keyring))
+                .build();
+    }
+
+    public TokenVerification verify(String token) {
+
+        // Structurally invalid tokens never reach jjwt, so they cost no exception or crypto
+        if (!TokenPrecheck.isWellFormed(token)) {
+            return TokenVerification.rejected(TokenVerification.Status.MALFORMED);
+        }
+
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            return fromClaims(TokenVerification.Status.VALID, claims);
+
+        } catch (ExpiredJwtException ex) {
+            return fromClaims(TokenVerification.Status.EXPIRED, ex.getClaims());
+
+        } catch (MalformedJwtException ex) {
+            return TokenVerification.rejected(TokenVerification.Status.MALFORMED);
+
+        } catch (SignatureException ex) {
+            return TokenVerification.rejected(TokenVerification.Status.BAD_SIGNATURE);
+
+        } catch (Exception ex) {
+            rateLimitedLog.warn("Unexpected token verification error: {}", ex.toString());
+            log.debug("Unexpected token verification error", ex);
+            return TokenVerification.rejected(TokenVerification.Status.INVALID);
+        }
+    }
+
+    // Resolves the verification key from the kid header on every parse, so keyring reloads apply immediately
+    private static final class KeyringResolver extends SigningKeyResolverAdapter {
+
+        private final JwtKeyring keyring;
+
+        private KeyringResolver(JwtKeyring keyring) {
+            this.keyring = keyring;
+        }
+
+        @Override
+        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+
+            SigningKey key = keyring.find(header.getKeyId());
+
+            if (key == null) {
+                throw new SignatureException("Unknown signing key id");
+            }
+
+            // Never let a token choose a different algorithm than the key was issued for
+            if (!key.algorithm().getValue().equals(header.getAlgorithm())) {
+                throw new SignatureException("Token algorithm does not match signing key");
+            }
+
+            return key.verificationKey();
+        }
+    }
+
+    // Also runs for expired tokens, outside the parse: a wrong-typed userId / role claim must map
+    // to MALFORMED here rather than escape verify()
+    private TokenVerification fromClaims(TokenVerification.Status status, Claims claims) {
+
+        try {
+            Date expiration = claims.getExpiration();
+
+            return new TokenVerification(
+                    status,
+                    claims.get("userId", Long.class),
+                    claims.getSubject(),
+                    claims.get("role", String.class),
+                    expiration != null ? expiration.toInstant() : null
+            );
+
+        } catch (RequiredTypeException ex) {
+            rateLimitedLog.warn("Token rejected. Identity claim has the wrong type: {}", ex.getMessage());
+            return TokenVerification.rejected(TokenVerification.Status.MALFORMED);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.shopping.b2c_ecommerce.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded LRU cache of successfully verified tokens, used by /auth/validate-token.
+ * Entries are keyed by a SHA-256 digest of the token and never outlive its exp claim.
+ * Hit / miss / eviction counters are published as the "jwt.verified-tokens" cache metrics.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final TokenVerifier tokenVerifier;
+
+    private final Cache<String, TokenVerification> cache;
+
+    public VerifiedTokenCache(
+            TokenVerifier tokenVerifier,
+            MeterRegistry meterRegistry,
+            @Value("${jwt.cache.max-size:10000}") long maxSize
+    ) {
+        this.tokenVerifier = tokenVerifier;
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified-tokens");
+    }
+
+    public TokenVerification verify(String token) {
+
+        // Reject garbage before spending a SHA-256 on it
+        if (!TokenPrecheck.isWellFormed(token)) {
+            return TokenVerification.rejected(TokenVerification.Status.MALFORMED);
+        }
+
+        String key = digest(token);
+
+        TokenVerification cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        TokenVerification verification = tokenVerifier.verify(token);
+
+        // Only valid tokens with an expiry are cached; rejections always go through the verifier
+        if (verification.isValid() && verification.expiresAt() != null) {
+            cache.put(key, verification);
+        }
+
+        return verification;
+    }
+
+    // A reload may retire keys, so tokens verified under the old keyring must be re-checked
+    @EventListener
+    public void onKeyringReloaded(JwtKeyringReloadedEvent event) {
+        cache.invalidateAll();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    // =========================
+    // EXPIRY = TOKEN exp CLAIM
+    // =========================
+    private static final class UntilTokenExpiry implements Expiry<String, TokenVerification> {
+
+        @Override
+        public long expireAfterCreate(String key, TokenVerification value, long currentTime) {
+            long remainingMillis = value.expiresAt().toEpochMilli() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, TokenVerification value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, TokenVerification value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
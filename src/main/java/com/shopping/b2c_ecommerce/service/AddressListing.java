@@ -0,0 +1,7 @@
+package com.shopping.b2c_ecommerce.service;
+
+/**
+ * A user's address list, already serialized, with the ETag of the address version it was read at.
+ */
+public record AddressListing(byte[] json, String etag, int count) {
+}
@@ -0,0 +1,86 @@
+package com.shopping.b2c_ecommerce.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shopping.b2c_ecommerce.dto.UserAddressResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Per-user cache of the serialized address list, for GET /customer/addresses.
+ *
+ * Each entry carries the ETag of the users.address_version it was loaded at, and is served only
+ * while the caller's freshly read ETag still equals it. A write on any node bumps the version, so
+ * no node serves an old list; local eviction on write (again after commit) only frees the memory early.
+ * Hit / miss / eviction counters are published as the "customer.addresses" cache metrics.
+ */
+@Component
+public class AddressListingCache {
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, AddressListing> cache;
+
+    public AddressListingCache(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${address-cache.max-size:20000}") long maxSize,
+            @Value("${address-cache.ttl-seconds:300}") long ttlSeconds
+    ) {
+        this.objectMapper = objectMapper;
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "customer.addresses");
+    }
+
+    // Serializes only when the cached entry is missing or was loaded at another version
+    public AddressListing get(Long userId, String etag, Function<Long, List<UserAddressResponse>> loader) {
+
+        AddressListing cached = cache.getIfPresent(userId);
+        if (cached != null && cached.etag().equals(etag)) {
+            return cached;
+        }
+
+        AddressListing listing = toListing(loader.apply(userId), etag);
+        cache.put(userId, listing);
+        return listing;
+    }
+
+    public void invalidate(Long userId) {
+
+        cache.invalidate(userId);
+
+        // A read between now and commit could re-cache the old list
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    private AddressListing toListing(List<UserAddressResponse> addresses, String etag) {
+        try {
+            return new AddressListing(objectMapper.writeValueAsBytes(addresses), etag, addresses.size());
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -1,19 +1,27 @@
 package com.shopping.b2c_ecommerce.service;
 
 import com.shopping.b2c_ecommerce.dto.AddAddressRequest;
+import com.shopping.b2c_ecommerce.dto.UserAddressResponse;
 import com.shopping.b2c_ecommerce.entity.Address;
 import com.shopping.b2c_ecommerce.entity.User;
 import com.shopping.b2c_ecommerce.repository.AddressRepository;
 import com.shopping.b2c_ecommerce.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import com.shopping.b2c_ecommerce.exception.AddressDefaultConflictException;
 import com.shopping.b2c_ecommerce.exception.AddressNotFoundException;
-import com.shopping.b2c_ecommerce.exception.UserNotFoundException;
 import com.shopping.b2c_ecommerce.exception.UnauthorizedAddressAccessException;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
 
 @Service
 public class AddressService {
@@ -22,20 +30,26 @@ public class AddressService {
 
     private final AddressRepository addressRepository;
     private final UserRepository userRepository;
+    private final AddressListingCache addressListingCache;
+    private final int lookupChunkSize;
 
-    public AddressService(AddressRepository addressRepository, UserRepository userRepository) {
+    public AddressService(AddressRepository addressRepository, UserRepository userRepository, AddressListingCache addressListingCache,
+                          @Value("${internal-api.lookup.chunk-size:1000}") int lookupChunkSize) {
         this.addressRepository = addressRepository;
         this.userRepository = userRepository;
+        this.addressListingCache = addressListingCache;
+        this.lookupChunkSize = lookupChunkSize;
     }
 
     //  Add Address
     @Transactional
     public Address addAddress(Long userId, AddAddressRequest request) {
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException(userId));
+        addressListingCache.invalidate(userId);
+        userRepository.incrementAddressVersion(userId);
 
-        boolean isFirstAddress = !addressRepository.existsByUserId(userId);
+        // userId comes from a verified token; a reference is enough for the FK
+        User user = userRepository.getReferenceById(userId);
 
         Address address = new Address();
         address.setUser(user);
@@ -51,36 +65,90 @@ public class AddressService {
         address.setPincode(request.getPincode());
         address.setCountry(request.getCountry());
 
-        boolean makeDefault =
-                isFirstAddress || Boolean.TRUE.equals(request.getIsDefault());
+        try {
+            if (Boolean.TRUE.equals(request.getIsDefault())) {
+                addressRepository.clearDefaultForUser(userId);
+                address.setIsDefault(true);
+            } else {
+                // The first address becomes the default; a concurrent first address hits the unique index
+                address.setIsDefault(!addressRepository.hasDefault(userId));
+            }
 
-        if (makeDefault) {
-            addressRepository.clearDefaultForUser(userId);
-            address.setIsDefault(true);
-        } else {
-            address.setIsDefault(false);
-        }
+            return addressRepository.saveAndFlush(address);
 
-        return addressRepository.save(address);
+        } catch (DataIntegrityViolationException ex) {
+            throw translateDefaultConflict(ex, userId);
+        }
     }
 
     // Get Address
-    public List<Address> getAddressesByUserId(Long userId) {
+    // Strong ETag of the user's address list: one primary key probe, no address rows read.
+    // userId comes from a verified token, so no separate user existence check
+    public String getAddressEtag(Long userId) {
+
+        long version = userRepository.findAddressVersion(userId).orElse(0L);
+        return "\"" + userId + "-" + version + "\"";
+    }
+
+    // Serialized list + ETag, from the per-user cache while the version is unchanged.
+    // The version is read first and in the same transaction (so on the same replica), so a list
+    // is never tagged with a version newer than its content
+    @Transactional(readOnly = true)
+    public AddressListing getAddressListing(Long userId) {
+
+        return addressListingCache.get(userId, getAddressEtag(userId), id -> {
+            log.debug("Address listing cache miss. userId={}", id);
+            return addressRepository.findResponsesByUserId(id);
+        });
+    }
+
+    // =========================
+    // BULK LOOKUP (internal services)
+    // =========================
+    // One IN query per chunk of distinct ids, all chunks in one read-only transaction
+    @Transactional(readOnly = true)
+    public List<UserAddressResponse> findAddressesByUserIds(Collection<Long> userIds) {
+
+        List<UserAddressResponse> addresses = inChunks(userIds, addressRepository::findResponsesByUserIdIn);
+        log.info("Bulk address lookup by userIds. ids={}, found={}", userIds.size(), addresses.size());
+        return addresses;
+    }
+
+    @Transactional(readOnly = true)
+    public List<UserAddressResponse> findAddressesByIds(Collection<Long> addressIds) {
+
+        List<UserAddressResponse> addresses = inChunks(addressIds, addressRepository::findResponsesByIdIn);
+        log.info("Bulk address lookup by addressIds. ids={}, found={}", addressIds.size(), addresses.size());
+        return addresses;
+    }
 
-        log.info("Fetch addresses service called. userId={}", userId);
+    // Sorted chunks keep the overall result ordered the same way each query orders its chunk
+    private List<UserAddressResponse> inChunks(Collection<Long> ids,
+                                               Function<List<Long>, List<UserAddressResponse>> query) {
 
-        if (!userRepository.existsById(userId)) {
-            log.warn("User not found. userId={}", userId);
-            throw new UserNotFoundException(userId);
+        List<Long> distinct = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .toList();
+
+        List<UserAddressResponse> result = new ArrayList<>();
+
+        for (int from = 0; from < distinct.size(); from += lookupChunkSize) {
+            List<Long> chunk = distinct.subList(from, Math.min(from + lookupChunkSize, distinct.size()));
+            result.addAll(query.apply(chunk));
         }
 
-        return addressRepository.findByUserId(userId);
+        return result;
     }
 
     //  Update Address
     @Transactional
     public Address updateAddress(Long userId, Long addressId, AddAddressRequest request) {
 
+        addressListingCache.invalidate(userId);
+        userRepository.incrementAddressVersion(userId);
+
         Address address = addressRepository.findById(addressId)
                 .orElseThrow(() -> new AddressNotFoundException(addressId));
 
@@ -100,18 +168,26 @@ public class AddressService {
         address.setPincode(request.getPincode());
         address.setCountry(request.getCountry());
 
-        if (Boolean.TRUE.equals(request.getIsDefault())) {
-            addressRepository.clearDefaultForUser(userId);
-            address.setIsDefault(true);
-        }
+        try {
+            if (Boolean.TRUE.equals(request.getIsDefault())) {
+                addressRepository.clearDefaultForUserExcept(userId, addressId);
+                address.setIsDefault(true);
+            }
+
+            return addressRepository.saveAndFlush(address);
 
-        return addressRepository.save(address);
+        } catch (DataIntegrityViolationException ex) {
+            throw translateDefaultConflict(ex, userId);
+        }
     }
 
     //  Delete Address
     @Transactional
     public void deleteAddress(Long userId, Long addressId) {
 
+        addressListingCache.invalidate(userId);
+        userRepository.incrementAddressVersion(userId);
+
         Address address = addressRepository.findById(addressId)
                 .orElseThrow(() -> new AddressNotFoundException(addressId));
 
@@ -124,14 +200,27 @@ public class AddressService {
         addressRepository.delete(address);
 
         if (wasDefault) {
-            addressRepository.findByUserId(userId)
-                    .stream()
-                    .findFirst()
-                    .ifPresent(a -> {
-                        a.setIsDefault(true);
-                        addressRepository.save(a);
-                    });
+            addressRepository.flush();
+
+            try {
+                int promoted = addressRepository.promoteMostRecentToDefault(userId);
+                log.debug("Default address promoted after delete. userId={}, promoted={}", userId, promoted == 1);
+            } catch (DataIntegrityViolationException ex) {
+                throw translateDefaultConflict(ex, userId);
+            }
+        }
+    }
+
+    // A concurrent default change for the same user hit the partial unique index
+    private RuntimeException translateDefaultConflict(DataIntegrityViolationException ex, Long userId) {
+
+        if (ex.getCause() instanceof ConstraintViolationException violation
+                && AddressRepository.DEFAULT_ADDRESS_INDEX.equals(violation.getConstraintName())) {
+            log.warn("Concurrent default address change rejected. userId={}", userId);
+            return new AddressDefaultConflictException();
         }
+
+        return ex;
     }
 
 }
\ No newline at end of file
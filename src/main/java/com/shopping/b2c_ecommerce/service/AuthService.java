@@ -1,51 +1,56 @@
 package com.shopping.b2c_ecommerce.service;
 
 import com.shopping.b2c_ecommerce.dto.*;
-import com.shopping.b2c_ecommerce.entity.Role;
-import com.shopping.b2c_ecommerce.entity.User;
-import com.shopping.b2c_ecommerce.entity.UserRole;
+import com.shopping.b2c_ecommerce.enums.AdminBulkOutcome;
 import com.shopping.b2c_ecommerce.enums.AuthProvider;
+import com.shopping.b2c_ecommerce.enums.RoleName;
 import com.shopping.b2c_ecommerce.exception.*;
 import com.shopping.b2c_ecommerce.repository.UserRepository;
 import com.shopping.b2c_ecommerce.repository.UserRoleRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
 @Service
 public class AuthService {
 
     private static final Logger log = LoggerFactory.getLogger(AuthService.class);
 
     private final UserService userService;
-    private final RoleService roleService;
     private final UserRoleRepository userRoleRepository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final GoogleOAuthService googleOAuthService;
     private final OtpService otpService;
     private final EmailOtpService emailOtpService;
     private final UserRepository userRepository;
+    private final UserIdentityCache userIdentityCache;
 
     public AuthService(
             UserService userService,
-            RoleService roleService,
             UserRoleRepository userRoleRepository,
-            BCryptPasswordEncoder passwordEncoder,
+            PasswordHashingService passwordHashingService,
             GoogleOAuthService googleOAuthService,
             OtpService otpService,
             EmailOtpService emailOtpService,
-            UserRepository userRepository
+            UserRepository userRepository,
+            UserIdentityCache userIdentityCache
     ) {
         this.userService = userService;
-        this.roleService = roleService;
         this.userRoleRepository = userRoleRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.googleOAuthService = googleOAuthService;
         this.otpService = otpService;
         this.emailOtpService = emailOtpService;
         this.userRepository = userRepository;
+        this.userIdentityCache = userIdentityCache;
     }
 
     // =========================
@@ -60,16 +65,15 @@ public class AuthService {
             throw new UserAlreadyExistsException("email");
         }
 
-        User user = new User();
-        user.setEmail(email);
-        user.setPassword(passwordEncoder.encode(rawPassword));
-        user.setActive(true);
-        user.setProvider(AuthProvider.LOCAL.name());
-
-        User savedUser = userService.createUser(user);
-        log.info("Admin user created. userId={}", savedUser.getId());
+        Long userId = userService.provisionUser(
+                        email, null, passwordHashingService.encode(rawPassword),
+                        AuthProvider.LOCAL, null, RoleName.ADMIN)
+                .orElseThrow(() -> {
+                    log.warn("Admin registration failed. Email already exists: {}", email);
+                    return new UserAlreadyExistsException("email");
+                });
 
-        assignRole(savedUser, "ADMIN");
+        log.info("Admin user created. userId={}", userId);
     }
 
     // =========================
@@ -79,16 +83,18 @@ public class AuthService {
 
         log.info("Password login attempt. email={}", email);
 
-        User user = userService.findByEmail(email)
+        UserAuthView user = userService.findAuthViewByEmail(email)
                 .orElseThrow(InvalidCredentialsException::new);
 
         validateActiveUser(user);
 
-        if (!passwordEncoder.matches(rawPassword, user.getPassword())) {
+        if (user.getPassword() == null || !passwordHashingService.matches(rawPassword, user.getPassword())) {
             log.warn("Password login failed. Password mismatch. email={}", email);
             throw new InvalidCredentialsException();
         }
 
+        upgradePasswordHashIfNeeded(user.getId(), rawPassword, user.getPassword());
+
         log.info("Password login successful. userId={}", user.getId());
         return buildIdentity(user);
     }
@@ -103,28 +109,37 @@ public class AuthService {
         GoogleTokenResponse token = googleOAuthService.getToken(code);
         GoogleUserInfo googleUser = googleOAuthService.getUserInfo(token.getAccessToken());
 
-        User user = userService.findByEmail(googleUser.getEmail())
-                .orElseGet(() -> {
+        var existing = userService.findAuthViewByEmail(googleUser.getEmail());
 
-                    log.info("Google user not found. Creating new user. email={}", googleUser.getEmail());
+        if (existing.isPresent()) {
+            UserAuthView user = existing.get();
 
-                    User u = new User();
-                    u.setEmail(googleUser.getEmail());
-                    u.setActive(true);
-                    u.setProvider(AuthProvider.GOOGLE.name());
-                    u.setProviderId(googleUser.getId());
+            validateActiveUser(user);
+            log.info("Google login successful. userId={}", user.getId());
 
-                    User saved = userService.createUser(u);
-                    log.info("Google user created. userId={}", saved.getId());
+            return buildIdentity(user);
+        }
 
-                    assignRole(saved, "CUSTOMER");
-                    return saved;
-                });
+        log.info("Google user not found. Creating new user. email={}", googleUser.getEmail());
 
-        validateActiveUser(user);
-        log.info("Google login successful. userId={}", user.getId());
+        var created = userService.provisionUser(
+                googleUser.getEmail(), null, null, AuthProvider.GOOGLE, googleUser.getId(), RoleName.CUSTOMER);
 
-        return buildIdentity(user);
+        if (created.isEmpty()) {
+            // A concurrent first login created the user; log in as that user
+            log.info("Google user created concurrently. Re-reading. email={}", googleUser.getEmail());
+
+            UserAuthView user = userService.findAuthViewByEmail(googleUser.getEmail())
+                    .orElseThrow(InvalidCredentialsException::new);
+
+            validateActiveUser(user);
+            return buildIdentity(user);
+        }
+
+        log.info("Google user created. userId={}", created.get());
+        log.info("Google login successful. userId={}", created.get());
+
+        return new UserIdentity(created.get(), googleUser.getEmail(), RoleName.CUSTOMER.name());
     }
 
     // =========================
@@ -152,7 +167,7 @@ public class AuthService {
             throw new OtpVerificationException();
         }
 
-        User user = userService.findByMobileNumber(mobile)
+        UserAuthView user = userService.findAuthViewByMobileNumber(mobile)
                 .orElseThrow(() -> {
                     log.error("User not found after OTP verification. mobile={}", mobile);
                     return new RuntimeException("User not found");
@@ -189,7 +204,7 @@ public class AuthService {
             throw new OtpVerificationException();
         }
 
-        User user = userService.findByEmail(email)
+        UserAuthView user = userService.findAuthViewByEmail(email)
                 .orElseThrow(() -> {
                     log.error("User not found after email OTP verification. email={}", email);
                     return new RuntimeException("User not found");
@@ -238,23 +253,16 @@ public class AuthService {
             throw new OtpNotVerifiedException();
         }
 
-        if (userService.existsByMobileNumber(mobile)) {
-            log.warn("Registration failed. User already registered. mobile={}", mobile);
-            throw new UserAlreadyExistsException("mobile");
-        }
-
-        User user = new User();
-        user.setMobileNumber(mobile);
-        user.setActive(true);
-        user.setProvider(AuthProvider.OTP.name());
-
-        User savedUser = userService.createUser(user);
-        log.info("Mobile user registered. userId={}", savedUser.getId());
+        Long userId = userService.provisionUser(null, mobile, null, AuthProvider.OTP, null, RoleName.CUSTOMER)
+                .orElseThrow(() -> {
+                    log.warn("Registration failed. User already registered. mobile={}", mobile);
+                    return new UserAlreadyExistsException("mobile");
+                });
 
-        assignRole(savedUser, "CUSTOMER");
+        log.info("Mobile user registered. userId={}", userId);
         otpService.clearOtpState(mobile);
 
-        return buildIdentity(savedUser);
+        return new UserIdentity(userId, null, RoleName.CUSTOMER.name());
     }
 
     // =========================
@@ -294,18 +302,16 @@ public class AuthService {
             throw new OtpNotVerifiedException();
         }
 
-        User user = new User();
-        user.setEmail(email);
-        user.setActive(true);
-        user.setProvider(AuthProvider.OTP.name());
-
-        User savedUser = userService.createUser(user);
-        log.info("Email user registered. userId={}", savedUser.getId());
+        Long userId = userService.provisionUser(email, null, null, AuthProvider.OTP, null, RoleName.CUSTOMER)
+                .orElseThrow(() -> {
+                    log.warn("Email registration failed. Already registered: {}", email);
+                    return new UserAlreadyExistsException("email");
+                });
 
-        assignRole(savedUser, "CUSTOMER");
+        log.info("Email user registered. userId={}", userId);
         emailOtpService.clearOtpState(email);
 
-        return buildIdentity(savedUser);
+        return new UserIdentity(userId, email, RoleName.CUSTOMER.name());
     }
 
     // =========================
@@ -320,30 +326,33 @@ public class AuthService {
     // =========================
     // HELPERS
     // =========================
-    private void assignRole(User user, String roleName) {
+    // Re-hash with the current algorithm / cost after a successful login; the conditional update
+    // leaves the row alone if the password was changed in the meantime
+    private void upgradePasswordHashIfNeeded(Long userId, String rawPassword, String currentHash) {
 
-        log.info("Assigning role. userId={}, role={}", user.getId(), roleName);
+        if (!passwordHashingService.upgradeEncoding(currentHash)) {
+            return;
+        }
 
-        Role role = roleService.getRoleByName(roleName);
-        UserRole ur = new UserRole();
-        ur.setUser(user);
-        ur.setRole(role);
-        userRoleRepository.save(ur);
+        passwordHashingService.rehashInBackground(rawPassword, newHash -> {
+            int updated = userRepository.updatePasswordHash(userId, currentHash, newHash);
+            userIdentityCache.invalidate(userId);
+            log.info("Password hash upgraded. userId={}, updated={}", userId, updated == 1);
+        });
     }
 
-    private UserIdentity buildIdentity(User user) {
+    private UserIdentity buildIdentity(UserAuthView user) {
 
         log.debug("Building identity. userId={}", user.getId());
 
-        String role = userRoleRepository.findByUser(user)
-                .orElseThrow(RoleNotFoundException::new)
-                .getRole()
-                .getName();
+        if (user.getRoleName() == null) {
+            throw new RoleNotFoundException();
+        }
 
-        return new UserIdentity(user.getId(), user.getEmail(), role);
+        return new UserIdentity(user.getId(), user.getEmail(), user.getRoleName());
     }
 
-    private void validateActiveUser(User user) {
+    private void validateActiveUser(UserAuthView user) {
 
         if (!user.getActive()) {
             log.warn("Inactive account access attempt. userId={}", user.getId());
@@ -363,26 +372,63 @@ public class AuthService {
         }
 
         // ❌ Block SUPER_ADMIN deletion
-        if (userRoleRepository.existsByUserIdAndRoleName(adminId, "SUPER_ADMIN")) {
+        if (userRoleRepository.existsByUserIdAndRoleName(adminId, RoleName.SUPER_ADMIN.name())) {
             log.warn("Hard delete blocked: Attempt to delete SUPER_ADMIN with adminId={}", adminId);
             throw new UnauthorizedAdminActionException("SUPER_ADMIN cannot be deleted");
         }
 
         // ✅ Allow only ADMIN deletion
-        if (!userRoleRepository.existsByUserIdAndRoleName(adminId, "ADMIN")) {
+        if (!userRoleRepository.existsByUserIdAndRoleName(adminId, RoleName.ADMIN.name())) {
             log.warn("Hard delete blocked: User is not ADMIN, adminId={}", adminId);
             throw new UnauthorizedAdminActionException("Only ADMIN users can be deleted");
         }
 
-        // 🧹 Delete role mappings first (FK safety)
-        log.debug("Deleting role mappings for adminId={}", adminId);
-        userRoleRepository.deleteByUserId(adminId);
-
-        // 💥 Hard delete user
+        // 💥 Hard delete user, role mapping and reset tokens (same statement as the bulk delete)
         log.debug("Deleting user record for adminId={}", adminId);
-        userRepository.deleteById(adminId);
+        if (userService.deleteAdmins(List.of(adminId)).isEmpty()) {
+            log.warn("Hard delete blocked: Role changed concurrently, adminId={}", adminId);
+            throw new UnauthorizedAdminActionException("Only ADMIN users can be deleted");
+        }
 
         log.info("Hard delete completed successfully for adminId={}", adminId);
     }
 
+    // Bulk hard delete: one guarded DELETE statement for every id that is an ADMIN; the ids it did
+    // not delete are classified afterwards. SUPER_ADMINs and other roles are reported as NOT_ADMIN
+    @Transactional
+    public List<AdminBulkResult> hardDeleteAdmins(List<Long> adminIds) {
+
+        log.info("Starting bulk hard delete. count={}", adminIds.size());
+
+        List<Long> ids = adminIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        Set<Long> deleted = new HashSet<>(userService.deleteAdmins(ids));
+
+        Map<Long, UserAuthView> others = userService.findCurrentByIds(
+                ids.stream().filter(id -> !deleted.contains(id)).toList());
+
+        List<AdminBulkResult> results = new ArrayList<>(ids.size());
+
+        for (Long id : ids) {
+
+            AdminBulkOutcome outcome;
+
+            if (deleted.contains(id)) {
+                outcome = AdminBulkOutcome.DELETED;
+            } else if (others.containsKey(id)) {
+                outcome = AdminBulkOutcome.NOT_ADMIN;
+            } else {
+                outcome = AdminBulkOutcome.NOT_FOUND;
+            }
+
+            results.add(new AdminBulkResult(id, outcome));
+        }
+
+        log.info("Bulk hard delete completed. requested={}, deleted={}", ids.size(), deleted.size());
+        return results;
+    }
+
 }
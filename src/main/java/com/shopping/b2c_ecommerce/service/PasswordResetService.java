@@ -3,13 +3,14 @@ package com.shopping.b2c_ecommerce.service;
 import com.shopping.b2c_ecommerce.entity.PasswordResetToken;
 import com.shopping.b2c_ecommerce.entity.User;
 import com.shopping.b2c_ecommerce.entity.UserRole;
+import com.shopping.b2c_ecommerce.enums.RoleName;
 import com.shopping.b2c_ecommerce.exception.*;
 import com.shopping.b2c_ecommerce.repository.PasswordResetTokenRepository;
 import com.shopping.b2c_ecommerce.repository.UserRepository;
 import com.shopping.b2c_ecommerce.repository.UserRoleRepository;
+import com.shopping.b2c_ecommerce.security.OtpDigester;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -23,7 +24,9 @@ public class PasswordResetService {
 
     private final UserRepository userRepository;
     private final PasswordResetTokenRepository tokenRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final OtpDigester otpDigester;
+    private final UserIdentityCache userIdentityCache;
     private final EmailService emailService;
     private final UserRoleRepository userRoleRepository;
 
@@ -56,7 +59,7 @@ public class PasswordResetService {
 
         String roleName = userRoleOpt.get().getRole().getName();
 
-        if (!roleName.equals("ADMIN") && !roleName.equals("SUPER_ADMIN"))
+        if (!RoleName.isAdmin(roleName))
         {
             log.warn("Admin forgot password failed. User is not an admin. userId={}, role={}",
                     user.getId(), roleName);
@@ -73,7 +76,7 @@ public class PasswordResetService {
 
         PasswordResetToken token = new PasswordResetToken();
         token.setUser(user);
-        token.setOtpHash(passwordEncoder.encode(otp));
+        token.setOtpHash(otpDigester.digest(otp));
         token.setExpiresAt(LocalDateTime.now().plusMinutes(15)); // 15 min for admins
         token.setUsed(false);
 
@@ -112,7 +115,7 @@ public class PasswordResetService {
 
         String roleName = userRoleOpt.get().getRole().getName();
 
-        if (!roleName.equals("ADMIN") && !roleName.equals("SUPER_ADMIN"))
+        if (!RoleName.isAdmin(roleName))
         {
             log.warn("Admin reset password failed. User is not an admin. userId={}, role={}",
                     user.getId(), roleName);
@@ -132,15 +135,16 @@ public class PasswordResetService {
             throw new PasswordResetTokenInvalidException("OTP expired or already used");
         }
 
-        if (!passwordEncoder.matches(otp, token.getOtpHash()))
+        if (!otpMatches(otp, token.getOtpHash()))
         {
             log.warn("Admin reset password failed. Invalid OTP. userId={}", user.getId());
             throw new PasswordResetTokenInvalidException("Invalid OTP");
         }
 
         // Update password
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(passwordHashingService.encode(newPassword));
         userRepository.save(user);
+        userIdentityCache.invalidate(user.getId());
 
         token.setUsed(true);
         tokenRepository.save(token);
@@ -156,4 +160,16 @@ public class PasswordResetService {
             // Don't fail the reset if email fails - password already changed
         }
     }
-}
\ No newline at end of file
+
+    // HMAC digests for new tokens; BCrypt rows written before the switch are still honoured
+    // until they expire (at most 15 minutes)
+    private boolean otpMatches(String otp, String otpHash)
+    {
+        if (otpDigester.isDigest(otpHash))
+        {
+            return otpDigester.matches(otp, otpHash);
+        }
+
+        return passwordHashingService.matches(otp, otpHash);
+    }
+}
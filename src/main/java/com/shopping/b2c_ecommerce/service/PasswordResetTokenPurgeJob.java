@@ -0,0 +1,156 @@
+package com.shopping.b2c_ecommerce.service;
+
+import com.shopping.b2c_ecommerce.repository.PasswordResetTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Deletes password reset tokens that can no longer be redeemed, in short batches:
+ * first expired tokens, then live tokens superseded by a newer one for the same user.
+ *
+ * Each batch is its own transaction and first takes a Postgres advisory lock
+ * (pg_try_advisory_xact_lock), so only one node purges at a time and no lock is held
+ * between batches. A node that misses the lock stops the run there: a run that deleted
+ * nothing counts as "skipped", one that had already deleted rows as "interrupted".
+ *
+ * Metrics: password-reset.purge.deleted, password-reset.purge.runs{outcome=completed|interrupted|skipped},
+ * password-reset.purge.duration.
+ */
+@Component
+@ConditionalOnProperty(prefix = "password-reset.purge", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class PasswordResetTokenPurgeJob {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordResetTokenPurgeJob.class);
+
+    // Arbitrary, but must be the same on every node
+    private static final long PURGE_LOCK_KEY = 7_245_190_331_001L;
+
+    private final PasswordResetTokenRepository tokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatches;
+
+    private final Counter deleted;
+    private final Counter completedRuns;
+    private final Counter interruptedRuns;
+    private final Counter skippedRuns;
+    private final Timer duration;
+
+    public PasswordResetTokenPurgeJob(
+            PasswordResetTokenRepository tokenRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${password-reset.purge.batch-size:1000}") int batchSize,
+            @Value("${password-reset.purge.max-batches:100}") int maxBatches
+    ) {
+        this.tokenRepository = tokenRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+
+        this.deleted = Counter.builder("password-reset.purge.deleted")
+                .description("Password reset tokens deleted by the purge job")
+                .register(meterRegistry);
+        this.completedRuns = Counter.builder("password-reset.purge.runs")
+                .tag("outcome", "completed")
+                .register(meterRegistry);
+        this.interruptedRuns = Counter.builder("password-reset.purge.runs")
+                .tag("outcome", "interrupted")
+                .description("Runs that deleted rows, then lost the purge lock to another node")
+                .register(meterRegistry);
+        this.skippedRuns = Counter.builder("password-reset.purge.runs")
+                .tag("outcome", "skipped")
+                .description("Runs skipped because another node held the purge lock")
+                .register(meterRegistry);
+        this.duration = Timer.builder("password-reset.purge.duration")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            fixedDelayString = "${password-reset.purge.interval-seconds:300}",
+            initialDelayString = "${password-reset.purge.interval-seconds:300}",
+            timeUnit = TimeUnit.SECONDS
+    )
+    public void purge() {
+        duration.record(this::runBatches);
+    }
+
+    private void runBatches() {
+
+        LocalDateTime now = LocalDateTime.now();
+
+        // Expired first: afterwards only live tokens are left for the superseded pass
+        PassResult expired = purgeInBatches(() -> tokenRepository.deleteExpiredBatch(now, batchSize));
+        PassResult superseded = expired.lockMissed()
+                ? new PassResult(0, true)
+                : purgeInBatches(() -> tokenRepository.deleteSupersededBatch(now, batchSize));
+
+        long total = expired.deleted() + superseded.deleted();
+
+        if (!superseded.lockMissed()) {
+            completedRuns.increment();
+
+            if (total > 0) {
+                log.info("Password reset token purge completed. expired={}, superseded={}",
+                        expired.deleted(), superseded.deleted());
+            }
+            return;
+        }
+
+        if (total == 0) {
+            skippedRuns.increment();
+            log.debug("Password reset token purge skipped. Another node holds the lock");
+            return;
+        }
+
+        interruptedRuns.increment();
+        log.info("Password reset token purge interrupted. Another node took the lock. expired={}, superseded={}",
+                expired.deleted(), superseded.deleted());
+    }
+
+    // Up to maxBatches batches, one transaction each; stops early when another node holds the lock
+    private PassResult purgeInBatches(IntSupplier deleteBatch) {
+
+        long total = 0;
+
+        for (int batch = 0; batch < maxBatches; batch++) {
+
+            Integer count = transactionTemplate.execute(status -> {
+                if (!tokenRepository.tryAdvisoryXactLock(PURGE_LOCK_KEY)) {
+                    return null;
+                }
+                return deleteBatch.getAsInt();
+            });
+
+            if (count == null) {
+                return new PassResult(total, true);
+            }
+
+            total += count;
+            deleted.increment(count);
+
+            if (count < batchSize) {
+                break;
+            }
+        }
+
+        return new PassResult(total, false);
+    }
+
+    // Rows one pass deleted, and whether it stopped because it missed the lock
+    private record PassResult(long deleted, boolean lockMissed) {
+    }
+}
@@ -1,12 +1,22 @@
 package com.shopping.b2c_ecommerce.service;
 
 import com.shopping.b2c_ecommerce.entity.Role;
+import com.shopping.b2c_ecommerce.enums.RoleName;
 import com.shopping.b2c_ecommerce.exception.RoleNotFoundException;
 import com.shopping.b2c_ecommerce.repository.RoleRepository;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Role registry. The roles table is read once at startup into an immutable map and only
+ * re-read on refresh(), so registrations and role checks never query it.
+ */
 @Service
 public class RoleService {
 
@@ -14,18 +24,62 @@ public class RoleService {
 
     private final RoleRepository roleRepository;
 
+    // Replaced atomically on refresh
+    private volatile Map<RoleName, Role> roles = Map.of();
+
     public RoleService(RoleRepository roleRepository) {
         this.roleRepository = roleRepository;
     }
 
-    public Role getRoleByName(String roleName) {
+    @PostConstruct
+    public void init() {
+        refresh();
+    }
+
+    public Map<RoleName, Long> refresh() {
+
+        Map<RoleName, Role> loaded = new EnumMap<>(RoleName.class);
+
+        for (Role role : roleRepository.findAll()) {
+            try {
+                loaded.put(RoleName.valueOf(role.getName()), role);
+            } catch (IllegalArgumentException ex) {
+                log.warn("Ignoring unknown role in roles table. roleName={}", role.getName());
+            }
+        }
+
+        for (RoleName name : RoleName.values()) {
+            if (!loaded.containsKey(name)) {
+                log.warn("Role missing from roles table. roleName={}", name);
+            }
+        }
+
+        roles = Collections.unmodifiableMap(loaded);
+        log.info("Role registry loaded. roles={}", loaded.keySet());
+
+        return roleIds();
+    }
+
+    public Role getRole(RoleName roleName) {
+
+        Role role = roles.get(roleName);
+
+        if (role == null) {
+            log.warn("Role not found. roleName={}", roleName);
+            throw new RoleNotFoundException(roleName.name());
+        }
+
+        return role;
+    }
+
+    public Long getRoleId(RoleName roleName) {
+        return getRole(roleName).getId();
+    }
 
-        log.debug("Fetching role by name. roleName={}", roleName);
+    public Map<RoleName, Long> roleIds() {
 
-        return roleRepository.findByName(roleName)
-                .orElseThrow(() -> {
-                    log.warn("Role not found. roleName={}", roleName);
-                    return new RoleNotFoundException(roleName);
-                });
+        Map<RoleName, Long> ids = new EnumMap<>(RoleName.class);
+        roles.forEach((name, role) -> ids.put(name, role.getId()));
+        return ids;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,67 @@
+package com.shopping.b2c_ecommerce.service;
+
+import com.shopping.b2c_ecommerce.dto.TokenValidationResponse;
+import com.shopping.b2c_ecommerce.security.RateLimitedLog;
+import com.shopping.b2c_ecommerce.security.TokenVerification;
+import com.shopping.b2c_ecommerce.security.VerifiedTokenCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Token validation for other services, shared by /auth/validate-token and
+ * /internal/tokens/validate so both report identical results.
+ */
+@Service
+public class TokenValidationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenValidationService.class);
+
+    private static final RateLimitedLog invalidTokenLog = new RateLimitedLog(log, 20);
+
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    public TokenValidationService(VerifiedTokenCache verifiedTokenCache) {
+        this.verifiedTokenCache = verifiedTokenCache;
+    }
+
+    public TokenValidationResponse validate(String token) {
+
+        if (token == null || token.isBlank()) {
+            invalidTokenLog.warn("Token validation failed: Empty token");
+            return new TokenValidationResponse(false, null, null);
+        }
+
+        TokenVerification verification = verifiedTokenCache.verify(token);
+
+        switch (verification.status()) {
+
+            case VALID -> {
+                log.debug("Token validated successfully. userId={}, role={}",
+                        verification.userId(), verification.role());
+
+                return new TokenValidationResponse(true, verification.userId(), verification.role());
+            }
+
+            case EXPIRED -> invalidTokenLog.warn("Token validation failed: Token expired");
+
+            case MALFORMED -> invalidTokenLog.warn("Token validation failed: Malformed token");
+
+            case BAD_SIGNATURE -> invalidTokenLog.warn("Token validation failed: Invalid signature");
+
+            default -> invalidTokenLog.warn("Token validation failed: Unexpected error");
+        }
+
+        return new TokenValidationResponse(false, null, null);
+    }
+
+    // Sequential on the caller's thread: the batch is bounded and repeated tokens hit the cache,
+    // so fanning out would only take threads from the rest of the application
+    public List<TokenValidationResponse> validateAll(List<String> tokens) {
+        return tokens.stream()
+                .map(this::validate)
+                .toList();
+    }
+}
@@ -0,0 +1,220 @@
+package com.shopping.b2c_ecommerce.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shopping.b2c_ecommerce.config.ReplicaRoutingDataSource;
+import com.shopping.b2c_ecommerce.dto.UserAuthView;
+import com.shopping.b2c_ecommerce.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of login identities (user + role) in front of UserRepository.
+ *
+ * Entries live in one cache keyed by userId; email and mobile are secondary indexes holding only
+ * the id, so all three keys reach the same entry and evicting the id invalidates every route to it.
+ * Only existing users are cached. Hit / miss / eviction counters are published as the
+ * "user.identity" cache metrics, with "user.identity.by-email" / "user.identity.by-mobile" for the indexes.
+ *
+ * Invalidation only reaches this node, so entries may trail another node's writes by up to the TTL.
+ * Nothing that decides a login reads from here, and cached entries never hold the password hash.
+ */
+@Component
+public class UserIdentityCache {
+
+    private static final Logger log = LoggerFactory.getLogger(UserIdentityCache.class);
+
+    private final UserRepository userRepository;
+
+    private final Cache<Long, UserAuthView> byId;
+    private final Cache<String, Long> idByEmail;
+    private final Cache<String, Long> idByMobile;
+
+    public UserIdentityCache(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${user-cache.max-size:50000}") long maxSize,
+            @Value("${user-cache.ttl-seconds:300}") long ttlSeconds
+    ) {
+        this.userRepository = userRepository;
+
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        this.idByEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        this.idByMobile = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "user.identity");
+        CaffeineCacheMetrics.monitor(meterRegistry, idByEmail, "user.identity.by-email");
+        CaffeineCacheMetrics.monitor(meterRegistry, idByMobile, "user.identity.by-mobile");
+    }
+
+    public Optional<UserAuthView> findById(Long userId) {
+
+        UserAuthView cached = byId.getIfPresent(userId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        return load(() -> userRepository.findAuthViewById(userId));
+    }
+
+    public Optional<UserAuthView> findByEmail(String email) {
+        return findByIndex(idByEmail, email, UserAuthView::getEmail,
+                () -> userRepository.findAuthViewByEmail(email));
+    }
+
+    public Optional<UserAuthView> findByMobileNumber(String mobile) {
+        return findByIndex(idByMobile, mobile, UserAuthView::getMobileNumber,
+                () -> userRepository.findAuthViewByMobileNumber(mobile));
+    }
+
+    // Hits come from the cache; every miss is loaded with one IN query and cached. Unknown ids are absent
+    public Map<Long, UserAuthView> findAllById(Collection<Long> userIds) {
+
+        Map<Long, UserAuthView> found = new HashMap<>(byId.getAllPresent(userIds));
+
+        List<Long> missing = userIds.stream()
+                .filter(id -> !found.containsKey(id))
+                .toList();
+
+        if (!missing.isEmpty()) {
+            for (UserAuthView view : userRepository.findAuthViewsByIdIn(missing)) {
+                found.put(view.getId(), put(view));
+            }
+        }
+
+        log.debug("User identities resolved. requested={}, fromCache={}, found={}",
+                userIds.size(), userIds.size() - missing.size(), found.size());
+        return found;
+    }
+
+    /**
+     * Drops the user from every index, now and - inside a transaction - again after commit,
+     * so a concurrent read cannot re-cache the row as it was before the change.
+     */
+    public void invalidate(Long userId) {
+
+        if (userId == null) {
+            return;
+        }
+
+        evict(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId);
+                }
+            });
+        }
+    }
+
+    // For rows that may not be cached under their id yet (e.g. a user being created)
+    public void invalidate(Long userId, String email, String mobile) {
+
+        if (email != null) {
+            idByEmail.invalidate(email);
+        }
+        if (mobile != null) {
+            idByMobile.invalidate(mobile);
+        }
+
+        invalidate(userId);
+    }
+
+    private Optional<UserAuthView> findByIndex(
+            Cache<String, Long> index,
+            String key,
+            Function<UserAuthView, String> keyOf,
+            Supplier<Optional<UserAuthView>> loader
+    ) {
+        if (key == null) {
+            return Optional.empty();
+        }
+
+        Long userId = index.getIfPresent(key);
+        if (userId != null) {
+            UserAuthView cached = byId.getIfPresent(userId);
+
+            // The index may outlive its entry or point at a row whose key has since changed
+            if (cached != null && Objects.equals(key, keyOf.apply(cached))) {
+                return Optional.of(cached);
+            }
+        }
+
+        return load(loader);
+    }
+
+    // Loaded from the primary: a replica row older than the invalidation would be cached for the whole TTL
+    private Optional<UserAuthView> load(Supplier<Optional<UserAuthView>> loader) {
+        return ReplicaRoutingDataSource.onPrimary(loader).map(this::put);
+    }
+
+    private UserAuthView put(UserAuthView loaded) {
+
+        UserAuthView view = withoutPassword(loaded);
+        byId.put(view.getId(), view);
+
+        if (view.getEmail() != null) {
+            idByEmail.put(view.getEmail(), view.getId());
+        }
+        if (view.getMobileNumber() != null) {
+            idByMobile.put(view.getMobileNumber(), view.getId());
+        }
+        return view;
+    }
+
+    private static UserAuthView withoutPassword(UserAuthView view) {
+        return new UserAuthView(view.getId(), view.getEmail(), view.getMobileNumber(), null,
+                view.getActive(), view.getProvider(), view.getRoleName());
+    }
+
+    private void evict(Long userId) {
+
+        UserAuthView cached = byId.getIfPresent(userId);
+        byId.invalidate(userId);
+
+        if (cached != null) {
+            if (cached.getEmail() != null) {
+                idByEmail.invalidate(cached.getEmail());
+            }
+            if (cached.getMobileNumber() != null) {
+                idByMobile.invalidate(cached.getMobileNumber());
+            }
+        }
+
+        log.debug("User identity evicted. userId={}", userId);
+    }
+}
@@ -1,8 +1,15 @@
 package com.shopping.b2c_ecommerce.service;
 
+import com.shopping.b2c_ecommerce.config.ReplicaRoutingDataSource;
+import com.shopping.b2c_ecommerce.dto.AdminBulkResult;
 import com.shopping.b2c_ecommerce.dto.AdminSummaryResponse;
+import com.shopping.b2c_ecommerce.dto.UserAuthView;
+import com.shopping.b2c_ecommerce.dto.UserLookupResponse;
 import com.shopping.b2c_ecommerce.entity.User;
 import com.shopping.b2c_ecommerce.entity.UserRole;
+import com.shopping.b2c_ecommerce.enums.AdminBulkOutcome;
+import com.shopping.b2c_ecommerce.enums.AuthProvider;
+import com.shopping.b2c_ecommerce.enums.RoleName;
 import com.shopping.b2c_ecommerce.exception.RoleNotAssignedException;
 import com.shopping.b2c_ecommerce.exception.UserNotAdminException;
 import com.shopping.b2c_ecommerce.exception.UserNotFoundException;
@@ -10,10 +17,26 @@ import com.shopping.b2c_ecommerce.repository.UserRepository;
 import com.shopping.b2c_ecommerce.repository.UserRoleRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class UserService {
@@ -22,21 +45,52 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final UserRoleRepository userRoleRepository;
+    private final UserIdentityCache userIdentityCache;
+    private final RoleService roleService;
+    private final TransactionTemplate readOnlyTransaction;
 
-    public UserService(UserRepository userRepository, UserRoleRepository userRoleRepository)
+    public UserService(UserRepository userRepository, UserRoleRepository userRoleRepository, UserIdentityCache userIdentityCache,
+                       RoleService roleService, PlatformTransactionManager transactionManager)
     {
         this.userRepository = userRepository;
         this.userRoleRepository = userRoleRepository;
+        this.userIdentityCache = userIdentityCache;
+        this.roleService = roleService;
+
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     public User createUser(User user)
     {
         log.debug("Creating user");
         User savedUser = userRepository.save(user);
+        userIdentityCache.invalidate(savedUser.getId(), savedUser.getEmail(), savedUser.getMobileNumber());
         log.debug("User created successfully. userId={}", savedUser.getId());
         return savedUser;
     }
 
+    /**
+     * Inserts an active user and its role mapping atomically in one round trip.
+     * Returns empty when the email or mobile is already taken, including by a concurrent signup.
+     */
+    public Optional<Long> provisionUser(String email, String mobile, String encodedPassword,
+                                        AuthProvider provider, String providerId, RoleName roleName)
+    {
+        log.debug("Provisioning user. provider={}, role={}", provider, roleName);
+
+        Optional<Long> userId = userRepository.provisionUser(
+                email, mobile, encodedPassword, provider.name(), providerId, roleService.getRoleId(roleName));
+
+        userId.ifPresentOrElse(
+                id -> log.debug("User provisioned. userId={}", id),
+                () -> log.debug("User provisioning skipped. Email or mobile already registered")
+        );
+
+        userIdentityCache.invalidate(userId.orElse(null), email, mobile);
+        return userId;
+    }
+
     public Optional<User> findByEmail(String email)
     {
         log.debug("Finding user by email. email={}", email);
@@ -46,13 +100,13 @@ public class UserService {
     public boolean existsByEmail(String email)
     {
         log.debug("Checking if email exists. email={}", email);
-        return userRepository.existsByEmail(email);
+        return userIdentityCache.findByEmail(email).isPresent();
     }
 
     public boolean existsByMobileNumber(String mobile)
     {
         log.debug("Checking if mobile exists. mobile={}", mobile);
-        return userRepository.existsByMobileNumber(mobile);
+        return userIdentityCache.findByMobileNumber(mobile).isPresent();
     }
 
     public Optional<User> findByMobileNumber(String mobile)
@@ -61,6 +115,54 @@ public class UserService {
         return userRepository.findByMobileNumber(mobile);
     }
 
+    // Logins decide on the password hash and active flag, so they always read the row itself:
+    // the identity cache is per node, and another node may have just deactivated, deleted or
+    // reset the password of this user. For the same reason they read the primary, never a lagging replica
+    public Optional<UserAuthView> findAuthViewByEmail(String email)
+    {
+        log.debug("Finding auth view by email. email={}", email);
+        return ReplicaRoutingDataSource.onPrimary(() -> userRepository.findAuthViewByEmail(email));
+    }
+
+    public Optional<UserAuthView> findAuthViewByMobileNumber(String mobile)
+    {
+        log.debug("Finding auth view by mobile. mobile={}", mobile);
+        return ReplicaRoutingDataSource.onPrimary(() -> userRepository.findAuthViewByMobileNumber(mobile));
+    }
+
+    public Optional<UserAuthView> findAuthViewById(Long userId)
+    {
+        log.debug("Finding auth view by id. userId={}", userId);
+        return userIdentityCache.findById(userId);
+    }
+
+    // Request order, duplicates and nulls dropped; unknown ids are left out
+    public List<UserLookupResponse> lookupUsers(List<Long> userIds)
+    {
+        List<Long> distinct = userIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        Map<Long, UserAuthView> found = userIdentityCache.findAllById(distinct);
+
+        List<UserLookupResponse> users = distinct.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .map(view -> new UserLookupResponse(
+                        view.getId(),
+                        view.getEmail(),
+                        view.getMobileNumber(),
+                        view.getProvider(),
+                        view.getActive()
+                ))
+                .toList();
+
+        log.debug("Users looked up. requested={}, found={}", distinct.size(), users.size());
+        return users;
+    }
+
+    @Transactional
     public void changeAdminStatus(Long adminId, boolean active)
     {
         log.info("Change admin status requested. adminId={}, active={}", adminId, active);
@@ -72,7 +174,7 @@ public class UserService {
                 .orElseThrow(RoleNotAssignedException::new);
 
         // If user is not an ADMIN
-        if (!userRole.getRole().getName().equals("ADMIN"))
+        if (!RoleName.ADMIN.matches(userRole.getRole().getName()))
         {
             log.warn("Change admin status failed. User is not ADMIN. userId={}", adminId);
             throw new UserNotAdminException();
@@ -87,15 +189,119 @@ public class UserService {
 
         user.setActive(active);
         userRepository.save(user);
+        userIdentityCache.invalidate(adminId);
 
         log.info("Admin status updated successfully. userId={}, active={}", adminId, active);
     }
 
-    public List<AdminSummaryResponse> getAllAdmins()
+    // =========================
+    // BULK ADMIN STATUS
+    // =========================
+    // One guarded UPDATE for every ADMIN whose status changes; the ids it did not change are
+    // classified afterwards, against the rows as they are now
+    @Transactional
+    public List<AdminBulkResult> changeAdminStatuses(List<Long> adminIds, boolean active)
     {
-        log.info("Fetching all admins");
-        List<AdminSummaryResponse> admins = userRepository.findAllAdmins();
-        log.info("Admins fetched successfully. count={}", admins.size());
+        log.info("Bulk admin status change requested. count={}, active={}", adminIds.size(), active);
+
+        List<Long> ids = adminIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        Set<Long> updated = new HashSet<>(userRepository.updateAdminsActive(
+                ids, active, LocalDateTime.now(), roleService.getRoleId(RoleName.ADMIN)));
+
+        updated.forEach(userIdentityCache::invalidate);
+
+        Map<Long, UserAuthView> others = findCurrentByIds(
+                ids.stream().filter(id -> !updated.contains(id)).toList());
+
+        List<AdminBulkResult> results = new ArrayList<>(ids.size());
+
+        for (Long id : ids)
+        {
+            UserAuthView user = others.get(id);
+            AdminBulkOutcome outcome;
+
+            if (updated.contains(id)) {
+                outcome = AdminBulkOutcome.UPDATED;
+            } else if (user == null) {
+                outcome = AdminBulkOutcome.NOT_FOUND;
+            } else if (!RoleName.ADMIN.matches(user.getRoleName())) {
+                outcome = AdminBulkOutcome.NOT_ADMIN;
+            } else {
+                outcome = AdminBulkOutcome.UNCHANGED;
+            }
+
+            results.add(new AdminBulkResult(id, outcome));
+        }
+
+        log.info("Bulk admin status change completed. requested={}, updated={}, active={}", ids.size(), updated.size(), active);
+        return results;
+    }
+
+    // Deletes the ids that are ADMINs, with their role mappings and reset tokens, in one statement.
+    // Returns the deleted ids
+    @Transactional
+    public List<Long> deleteAdmins(Collection<Long> adminIds)
+    {
+        if (adminIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> deleted = userRepository.deleteAdmins(adminIds, roleService.getRoleId(RoleName.ADMIN));
+        deleted.forEach(userIdentityCache::invalidate);
+
+        log.info("Admins deleted. requested={}, deleted={}", adminIds.size(), deleted.size());
+        return deleted;
+    }
+
+    // Straight from the database (never the cache) for write paths; missing ids are absent
+    @Transactional(readOnly = true)
+    public Map<Long, UserAuthView> findCurrentByIds(Collection<Long> userIds)
+    {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+
+        return userRepository.findAuthViewsByIdIn(userIds).stream()
+                .collect(Collectors.toMap(UserAuthView::getId, Function.identity()));
+    }
+
+    // One page of ADMINs with id > afterId, ordered by id
+    public List<AdminSummaryResponse> getAdminsPage(Long afterId, int limit, Boolean active)
+    {
+        log.info("Fetching admins page. afterId={}, limit={}, active={}", afterId, limit, active);
+
+        List<AdminSummaryResponse> admins = userRepository.findAdminsAfter(
+                roleService.getRoleId(RoleName.ADMIN),
+                afterId == null ? 0L : afterId,
+                active,
+                Limit.of(limit)
+        );
+
+        log.info("Admins page fetched. count={}", admins.size());
         return admins;
     }
-}
\ No newline at end of file
+
+    // Hands every matching ADMIN to the consumer while the cursor is open; nothing is collected
+    public long streamAdmins(Boolean active, Consumer<AdminSummaryResponse> consumer)
+    {
+        log.info("Streaming admins. active={}", active);
+
+        AtomicLong count = new AtomicLong();
+
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<AdminSummaryResponse> admins = userRepository.streamAdmins(roleService.getRoleId(RoleName.ADMIN), active)) {
+                admins.forEach(admin -> {
+                    consumer.accept(admin);
+                    count.incrementAndGet();
+                });
+            }
+        });
+
+        log.info("Admins streamed. count={}", count.get());
+        return count.get();
+    }
+}
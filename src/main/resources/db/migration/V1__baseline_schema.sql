@@ -0,0 +1,57 @@
+-- Baseline: the schema as previously generated by Hibernate (ddl-auto: update).
+-- Databases that already have these tables are baselined at this version and skip it.
+
+CREATE TABLE IF NOT EXISTS users (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email           VARCHAR(255) UNIQUE,
+    password        VARCHAR(255),
+    active          BOOLEAN      NOT NULL,
+    created_at      TIMESTAMP(6),
+    updated_at      TIMESTAMP(6),
+    provider        VARCHAR(255) NOT NULL,
+    provider_id     VARCHAR(255),
+    mobile_number   VARCHAR(255) UNIQUE,
+    mobile_verified BOOLEAN
+);
+
+CREATE TABLE IF NOT EXISTS roles (
+    id   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS user_roles (
+    id      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL UNIQUE REFERENCES users (id),
+    role_id BIGINT NOT NULL REFERENCES roles (id)
+);
+
+CREATE TABLE IF NOT EXISTS addresses (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id        BIGINT       NOT NULL REFERENCES users (id),
+    label          VARCHAR(255) NOT NULL,
+    first_name     VARCHAR(255) NOT NULL,
+    last_name      VARCHAR(255) NOT NULL,
+    contact_number VARCHAR(255) NOT NULL,
+    email          VARCHAR(255) NOT NULL,
+    address_line1  VARCHAR(255) NOT NULL,
+    address_line2  VARCHAR(255),
+    city           VARCHAR(255) NOT NULL,
+    state          VARCHAR(255) NOT NULL,
+    pincode        VARCHAR(255) NOT NULL,
+    country        VARCHAR(255) NOT NULL,
+    is_default     BOOLEAN      NOT NULL,
+    created_at     TIMESTAMP(6),
+    updated_at     TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS password_reset_tokens (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id    BIGINT       NOT NULL REFERENCES users (id),
+    otp_hash   VARCHAR(255) NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    used       BOOLEAN      NOT NULL,
+    created_at TIMESTAMP(6)
+);
+
+INSERT INTO roles (name) VALUES ('SUPER_ADMIN'), ('ADMIN'), ('CUSTOMER')
+ON CONFLICT (name) DO NOTHING;
@@ -0,0 +1,14 @@
+-- Indexes for the hot queries. Built CONCURRENTLY so live tables keep taking writes;
+-- Flyway runs this script outside a transaction for that reason.
+
+-- A user's addresses: the listing and the default-address updates
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_addresses_user_id
+    ON addresses (user_id);
+
+-- PasswordResetTokenRepository.findTopByUserOrderByCreatedAtDesc: one index probe, no sort
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_password_reset_tokens_user_created
+    ON password_reset_tokens (user_id, created_at DESC);
+
+-- Admins by role: the listing reads user_roles index-only, already in user_id order
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_roles_role_user
+    ON user_roles (role_id, user_id);
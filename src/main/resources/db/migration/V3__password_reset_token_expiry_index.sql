@@ -0,0 +1,4 @@
+-- Lets the purge job find expired tokens without scanning the table.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_password_reset_tokens_expires_at
+    ON password_reset_tokens (expires_at);
@@ -0,0 +1,15 @@
+-- Before the one-default-per-user index can be built, keep only the most recently updated
+-- default address of each user.
+
+UPDATE addresses
+SET is_default = false
+WHERE id IN (
+    SELECT id
+    FROM (
+        SELECT id,
+               row_number() OVER (PARTITION BY user_id ORDER BY updated_at DESC NULLS LAST, id DESC) AS rn
+        FROM addresses
+        WHERE is_default
+    ) ranked
+    WHERE ranked.rn > 1
+);
@@ -0,0 +1,5 @@
+-- At most one default address per user. Also serves the "current default of a user" lookups.
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uq_addresses_default_per_user
+    ON addresses (user_id)
+    WHERE is_default;
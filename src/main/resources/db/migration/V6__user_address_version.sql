@@ -0,0 +1,5 @@
+-- Bumped by every address add / update / delete of the user; GET /customer/addresses answers
+-- If-None-Match from it without loading the list. A constant default is a metadata-only change.
+
+ALTER TABLE users
+    ADD COLUMN IF NOT EXISTS address_version BIGINT NOT NULL DEFAULT 0;
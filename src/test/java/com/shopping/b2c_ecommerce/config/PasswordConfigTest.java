@@ -0,0 +1,42 @@
+package com.shopping.b2c_ecommerce.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordConfigTest {
+
+    private final PasswordConfig config = new PasswordConfig();
+
+    @Test
+    void newHashesUseTheConfiguredCostEvenWhenCalibrationSuggestsAnother() {
+        // calibration is pinned to 4 so it always disagrees with the configured cost
+        PasswordEncoder encoder = config.passwordEncoder(5, true, 250, 4, 4);
+
+        String hash = encoder.encode("secret");
+
+        assertTrue(hash.startsWith("{bcrypt}$2a$05$"), hash);
+        assertTrue(encoder.matches("secret", hash));
+    }
+
+    @Test
+    void onlyHashesBelowTheConfiguredCostAreUpgraded() {
+        PasswordEncoder encoder = config.passwordEncoder(5, false, 250, 4, 6);
+
+        assertTrue(encoder.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(4).encode("secret")));
+        assertFalse(encoder.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(5).encode("secret")));
+        assertFalse(encoder.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(6).encode("secret")));
+    }
+
+    @Test
+    void hashesWithoutAnIdPrefixAreAlwaysUpgraded() {
+        PasswordEncoder encoder = config.passwordEncoder(5, false, 250, 4, 6);
+        String legacy = new BCryptPasswordEncoder(6).encode("secret");
+
+        assertTrue(encoder.matches("secret", legacy));
+        assertTrue(encoder.upgradeEncoding(legacy));
+    }
+}
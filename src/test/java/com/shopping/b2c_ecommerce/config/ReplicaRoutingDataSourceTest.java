@@ -0,0 +1,188 @@
+package com.shopping.b2c_ecommerce.config;
+
+import com.shopping.b2c_ecommerce.dto.UserAuthView;
+import com.shopping.b2c_ecommerce.dto.UserIdentity;
+import com.shopping.b2c_ecommerce.repository.UserRepository;
+import com.shopping.b2c_ecommerce.repository.UserRoleRepository;
+import com.shopping.b2c_ecommerce.service.RoleService;
+import com.shopping.b2c_ecommerce.service.UserIdentityCache;
+import com.shopping.b2c_ecommerce.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        routing = new ReplicaRoutingDataSource(mock(DataSource.class),
+                List.of(mock(DataSource.class), mock(DataSource.class)), Duration.ofSeconds(30), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void writesGoToThePrimary() {
+        transaction(false);
+
+        assertEquals("primary", routing.determineCurrentLookupKey());
+        assertEquals(1.0, routed("primary", "write"));
+    }
+
+    @Test
+    void readOnlyTransactionsAlternateBetweenReplicas() {
+        transaction(true);
+
+        assertEquals("replica-0", routing.determineCurrentLookupKey());
+        assertEquals("replica-1", routing.determineCurrentLookupKey());
+        assertEquals("replica-0", routing.determineCurrentLookupKey());
+        assertEquals(3.0, meterRegistry.get("datasource.routing").tag("reason", "read-only").counters()
+                .stream().mapToDouble(c -> c.count()).sum());
+    }
+
+    @Test
+    void withoutReplicasReadsStayOnThePrimary() {
+        routing = new ReplicaRoutingDataSource(mock(DataSource.class), List.of(), Duration.ofSeconds(30), meterRegistry);
+        transaction(true);
+
+        assertEquals("primary", routing.determineCurrentLookupKey());
+        assertEquals(1.0, routed("primary", "no-replica"));
+    }
+
+    @Test
+    void userWhoJustWroteKeepsReadingThePrimary() {
+        authenticate(7L);
+        transaction(false);
+        routing.determineCurrentLookupKey();
+
+        transaction(true);
+        assertEquals("primary", routing.determineCurrentLookupKey());
+        assertEquals(1.0, routed("primary", "sticky"));
+
+        // Other users are not affected
+        authenticate(8L);
+        assertEquals("replica-0", routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void stickinessEndsWithTheWindow() throws InterruptedException {
+        routing = new ReplicaRoutingDataSource(mock(DataSource.class), List.of(mock(DataSource.class)),
+                Duration.ofMillis(50), meterRegistry);
+        authenticate(7L);
+        transaction(false);
+        routing.determineCurrentLookupKey();
+
+        Thread.sleep(100);
+
+        transaction(true);
+        assertEquals("replica-0", routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void writesOutsideATransactionDoNotMakeAUserSticky() {
+        authenticate(7L);
+        routing.determineCurrentLookupKey();
+
+        transaction(true);
+        assertEquals("replica-0", routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void pinnedReadsGoToThePrimary() {
+        transaction(true);
+
+        assertEquals("primary", ReplicaRoutingDataSource.onPrimary(routing::determineCurrentLookupKey));
+        assertEquals(1.0, routed("primary", "pinned"));
+
+        // The pin ends with the call
+        assertEquals("replica-0", routing.determineCurrentLookupKey());
+    }
+
+    // =========================
+    // LOGIN READS
+    // =========================
+
+    @Test
+    void loginLookupsReadThePrimary() {
+        UserRepository userRepository = mock(UserRepository.class);
+        List<Object> targets = new ArrayList<>();
+
+        // The repository's read-only transaction picks its connection when the query runs
+        when(userRepository.findAuthViewByEmail("a@example.com")).thenAnswer(inv -> {
+            transaction(true);
+            targets.add(routing.determineCurrentLookupKey());
+            return Optional.empty();
+        });
+        when(userRepository.findAuthViewByMobileNumber("9000000001")).thenAnswer(inv -> {
+            transaction(true);
+            targets.add(routing.determineCurrentLookupKey());
+            return Optional.empty();
+        });
+
+        UserService userService = new UserService(userRepository, mock(UserRoleRepository.class),
+                mock(UserIdentityCache.class), mock(RoleService.class), mock(PlatformTransactionManager.class));
+
+        userService.findAuthViewByEmail("a@example.com");
+        userService.findAuthViewByMobileNumber("9000000001");
+
+        assertEquals(List.of("primary", "primary"), targets);
+    }
+
+    @Test
+    void identityCacheLoadsReadThePrimary() {
+        UserRepository userRepository = mock(UserRepository.class);
+        List<Object> targets = new ArrayList<>();
+
+        when(userRepository.findAuthViewById(1L)).thenAnswer(inv -> {
+            transaction(true);
+            targets.add(routing.determineCurrentLookupKey());
+            return Optional.of(new UserAuthView(1L, "a@example.com", null, "hash", true, "LOCAL", "CUSTOMER"));
+        });
+
+        UserIdentityCache cache = new UserIdentityCache(userRepository, meterRegistry, 100, 300);
+        cache.findById(1L);
+
+        assertEquals(List.of("primary"), targets);
+    }
+
+    // =========================
+    // HELPERS
+    // =========================
+
+    private static void transaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private static void authenticate(Long userId) {
+        UserIdentity identity = new UserIdentity(userId, "user" + userId + "@example.com", "ADMIN");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(identity, null, List.of()));
+    }
+
+    private double routed(String target, String reason) {
+        return meterRegistry.get("datasource.routing").tag("target", target).tag("reason", reason).counter().count();
+    }
+}
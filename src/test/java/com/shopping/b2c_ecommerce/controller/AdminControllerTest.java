@@ -0,0 +1,156 @@
+package com.shopping.b2c_ecommerce.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopping.b2c_ecommerce.dto.AdminSummaryResponse;
+import com.shopping.b2c_ecommerce.enums.RoleName;
+import com.shopping.b2c_ecommerce.exception.GlobalExceptionHandler;
+import com.shopping.b2c_ecommerce.exception.PasswordHashingUnavailableException;
+import com.shopping.b2c_ecommerce.security.JwtUtil;
+import com.shopping.b2c_ecommerce.service.AuthService;
+import com.shopping.b2c_ecommerce.service.PasswordResetService;
+import com.shopping.b2c_ecommerce.service.RoleService;
+import com.shopping.b2c_ecommerce.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AdminControllerTest {
+
+    private static final String LOGIN_BODY = "{\"email\":\"admin@example.com\",\"password\":\"secret-password\"}";
+
+    private AuthService authService;
+    private UserService userService;
+    private RoleService roleService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        authService = mock(AuthService.class);
+        userService = mock(UserService.class);
+        roleService = mock(RoleService.class);
+
+        AdminController controller = new AdminController(
+                authService, mock(JwtUtil.class), userService, mock(PasswordResetService.class), roleService, new ObjectMapper());
+
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    // =========================
+    // PASSWORD HASHING BACKPRESSURE
+    // =========================
+
+    @Test
+    void busyHashingPoolTurnsLoginInto503WithRetryAfter() throws Exception {
+        when(authService.authenticate(anyString(), anyString()))
+                .thenThrow(new PasswordHashingUnavailableException(2));
+
+        mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON).content(LOGIN_BODY))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+                .andExpect(jsonPath("$.message").value("Server is busy, please try again shortly"));
+    }
+
+    @Test
+    void busyHashingPoolTurnsAdminRegistrationInto503WithRetryAfter() throws Exception {
+        doThrow(new PasswordHashingUnavailableException(5))
+                .when(authService).registerAdmin(anyString(), anyString());
+
+        mockMvc.perform(post("/auth/register/admin").contentType(MediaType.APPLICATION_JSON).content(LOGIN_BODY))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"));
+    }
+
+    // =========================
+    // ROLE REGISTRY
+    // =========================
+
+    @Test
+    void roleRefreshReturnsTheReloadedIds() throws Exception {
+        when(roleService.refresh()).thenReturn(Map.of(RoleName.SUPER_ADMIN, 1L, RoleName.ADMIN, 2L, RoleName.CUSTOMER, 3L));
+
+        mockMvc.perform(post("/auth/admin/roles/refresh"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.roles.SUPER_ADMIN").value(1))
+                .andExpect(jsonPath("$.roles.ADMIN").value(2))
+                .andExpect(jsonPath("$.roles.CUSTOMER").value(3));
+    }
+
+    // =========================
+    // ADMIN LISTING
+    // =========================
+
+    @Test
+    void fullPageCarriesTheLastIdAsNextCursor() throws Exception {
+        when(userService.getAdminsPage(10L, 2, null)).thenReturn(List.of(admin(11L), admin(14L)));
+
+        mockMvc.perform(get("/auth/show-admins").param("afterId", "10").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "14"))
+                .andExpect(jsonPath("$[1].id").value(14));
+    }
+
+    @Test
+    void shortPageIsTheLast() throws Exception {
+        when(userService.getAdminsPage(null, 100, true)).thenReturn(List.of(admin(3L)));
+
+        mockMvc.perform(get("/auth/show-admins").param("active", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void pageSizeOutsideTheLimitIsRejected() throws Exception {
+        mockMvc.perform(get("/auth/show-admins").param("limit", "501"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/auth/show-admins").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportWritesOneJsonObjectPerLine() throws Exception {
+        when(userService.streamAdmins(eq(false), any())).thenAnswer(inv -> {
+            Consumer<AdminSummaryResponse> consumer = inv.getArgument(1);
+            consumer.accept(admin(3L));
+            consumer.accept(admin(9L));
+            return 2L;
+        });
+
+        mockMvc.perform(get("/auth/show-admins/export").param("active", "false"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(
+                        "{\"id\":3,\"email\":\"admin3@example.com\",\"active\":true}\n"
+                                + "{\"id\":9,\"email\":\"admin9@example.com\",\"active\":true}\n"));
+    }
+
+    private static AdminSummaryResponse admin(Long id) {
+        return new AdminSummaryResponse(id, "admin" + id + "@example.com", true);
+    }
+}
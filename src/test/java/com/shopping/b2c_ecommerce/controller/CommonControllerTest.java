@@ -0,0 +1,145 @@
+package com.shopping.b2c_ecommerce.controller;
+
+import com.shopping.b2c_ecommerce.dto.TokenValidationResponse;
+import com.shopping.b2c_ecommerce.exception.InvalidTokenBatchException;
+import com.shopping.b2c_ecommerce.security.JwtKeyring;
+import com.shopping.b2c_ecommerce.security.TokenVerifier;
+import com.shopping.b2c_ecommerce.security.VerifiedTokenCache;
+import com.shopping.b2c_ecommerce.service.TokenValidationService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommonControllerTest {
+
+    private static final String SECRET = "test-secret-key-that-is-at-least-32-bytes-long";
+    private static final String OTHER_SECRET = "another-secret-key-that-is-at-least-32-bytes";
+
+    private static final Authentication SERVICE = new UsernamePasswordAuthenticationToken(
+            "gateway", null, List.of(new SimpleGrantedAuthority("ROLE_SERVICE")));
+
+    private CommonController controller;
+    private InternalTokenController internalController;
+
+    @BeforeEach
+    void setUp() {
+        JwtKeyring keyring = new JwtKeyring("HS256", SECRET, "", "", event -> { });
+        keyring.init();
+
+        TokenValidationService tokenValidationService = new TokenValidationService(
+                new VerifiedTokenCache(new TokenVerifier(keyring), new SimpleMeterRegistry(), 100));
+
+        controller = new CommonController(tokenValidationService);
+        internalController = new InternalTokenController(tokenValidationService);
+    }
+
+    // =========================
+    // SINGLE / BATCH PARITY
+    // =========================
+    @Test
+    void batchReportsWhatTheSingleEndpointReportsForEachToken() {
+        List<String> tokens = Arrays.asList(
+                token(SECRET, 42L, "ADMIN", Instant.now().plusSeconds(600)),
+                token(SECRET, 43L, "CUSTOMER", Instant.now().minusSeconds(60)),
+                token(OTHER_SECRET, 44L, "ADMIN", Instant.now().plusSeconds(600)),
+                "not-a-jwt",
+                " ",
+                token(SECRET, 45L, "SUPER_ADMIN", Instant.now().plusSeconds(600))
+        );
+
+        List<TokenValidationResponse> batch = batch(tokens);
+
+        assertEquals(tokens.size(), batch.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            assertEquals(single(tokens.get(i)), batch.get(i), "token " + i);
+        }
+
+        assertTrue(batch.get(0).isValid());
+        assertEquals(42L, batch.get(0).getUserId());
+        assertFalse(batch.get(1).isValid());
+        assertFalse(batch.get(2).isValid());
+        assertFalse(batch.get(3).isValid());
+        assertFalse(batch.get(4).isValid());
+        assertEquals("SUPER_ADMIN", batch.get(5).getRole());
+    }
+
+    @Test
+    void batchKeepsSubmissionOrder() {
+        List<String> tokens = new ArrayList<>();
+        for (long userId = 1; userId <= 200; userId++) {
+            tokens.add(token(SECRET, userId, "CUSTOMER", Instant.now().plusSeconds(600)));
+        }
+
+        List<TokenValidationResponse> batch = batch(tokens);
+
+        for (int i = 0; i < tokens.size(); i++) {
+            assertEquals(i + 1L, batch.get(i).getUserId());
+        }
+    }
+
+    @Test
+    void singleEndpointAnswersUnauthorizedForInvalidTokens() {
+        ResponseEntity<TokenValidationResponse> response =
+                controller.validateToken("Bearer " + token(OTHER_SECRET, 42L, "ADMIN", Instant.now().plusSeconds(600)));
+
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED, controller.validateToken(null).getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED, controller.validateToken("Basic abc").getStatusCode());
+    }
+
+    @Test
+    void batchRejectsEmptyAndOversizedRequests() {
+        InvalidTokenBatchException empty = assertThrows(InvalidTokenBatchException.class,
+                () -> internalController.validateTokens(List.of(), SERVICE));
+        assertEquals("At least one token is required", empty.getMessage());
+
+        assertThrows(InvalidTokenBatchException.class,
+                () -> internalController.validateTokens(Collections.nCopies(501, "x"), SERVICE));
+        assertEquals(500, batch(Collections.nCopies(500, "x")).size());
+    }
+
+    // =========================
+    // HELPERS
+    // =========================
+    private TokenValidationResponse single(String token) {
+        return controller.validateToken("Bearer " + token).getBody();
+    }
+
+    private List<TokenValidationResponse> batch(List<String> tokens) {
+        ResponseEntity<List<TokenValidationResponse>> response = internalController.validateTokens(tokens, SERVICE);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        return response.getBody();
+    }
+
+    private static String token(String secret, Long userId, String role, Instant expiresAt) {
+        return Jwts.builder()
+                .setSubject("user" + userId + "@example.com")
+                .claim("userId", userId)
+                .claim("role", role)
+                .setIssuedAt(Date.from(expiresAt.minusSeconds(3600)))
+                .setExpiration(Date.from(expiresAt))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
@@ -0,0 +1,95 @@
+package com.shopping.b2c_ecommerce.controller;
+
+import com.shopping.b2c_ecommerce.dto.UserIdentity;
+import com.shopping.b2c_ecommerce.service.AddressListing;
+import com.shopping.b2c_ecommerce.service.AddressService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CustomerAddressControllerTest {
+
+    private static final Long USER_ID = 7L;
+    private static final String ETAG = "\"7-3\"";
+    private static final byte[] JSON = "[{\"addressId\":1}]".getBytes(StandardCharsets.UTF_8);
+
+    private AddressService addressService;
+    private CustomerAddressController controller;
+
+    @BeforeEach
+    void setUp() {
+        addressService = mock(AddressService.class);
+        when(addressService.getAddressEtag(USER_ID)).thenReturn(ETAG);
+        when(addressService.getAddressListing(USER_ID)).thenReturn(new AddressListing(JSON, ETAG, 1));
+
+        controller = new CustomerAddressController(addressService);
+
+        UserIdentity identity = new UserIdentity(USER_ID, "asha@example.com", "CUSTOMER");
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                identity, null, List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER"))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void withoutIfNoneMatchTheListIsReturnedWithItsEtag() {
+        ResponseEntity<?> response = controller.getUserAddresses(null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(ETAG, response.getHeaders().getETag());
+        assertArrayEquals(JSON, (byte[]) response.getBody());
+    }
+
+    @Test
+    void matchingIfNoneMatchGetsNotModified() {
+        ResponseEntity<?> response = controller.getUserAddresses(ETAG);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(ETAG, response.getHeaders().getETag());
+        assertNull(response.getBody());
+
+        // Answered from the version alone
+        verify(addressService, never()).getAddressListing(USER_ID);
+    }
+
+    @Test
+    void weakOrListedTagsAlsoMatch() {
+        assertEquals(HttpStatus.NOT_MODIFIED, controller.getUserAddresses("W/" + ETAG).getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, controller.getUserAddresses("\"old\", " + ETAG).getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, controller.getUserAddresses("*").getStatusCode());
+    }
+
+    @Test
+    void staleIfNoneMatchGetsTheNewList() {
+        ResponseEntity<?> response = controller.getUserAddresses("\"old\"");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(JSON, (byte[]) response.getBody());
+    }
+
+    @Test
+    void requestWithoutIdentityIsUnauthorized() {
+        SecurityContextHolder.clearContext();
+
+        assertEquals(HttpStatus.UNAUTHORIZED, controller.getUserAddresses(ETAG).getStatusCode());
+    }
+}
@@ -0,0 +1,90 @@
+package com.shopping.b2c_ecommerce.controller;
+
+import com.shopping.b2c_ecommerce.dto.AddressLookupRequest;
+import com.shopping.b2c_ecommerce.dto.UserAddressResponse;
+import com.shopping.b2c_ecommerce.service.AddressService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class InternalAddressControllerTest {
+
+    private static final Authentication SERVICE = new UsernamePasswordAuthenticationToken(
+            "shipping-service", null, List.of(new SimpleGrantedAuthority("ROLE_SERVICE")));
+
+    private AddressService addressService;
+    private InternalAddressController controller;
+
+    @BeforeEach
+    void setUp() {
+        addressService = mock(AddressService.class);
+        controller = new InternalAddressController(addressService);
+    }
+
+    @Test
+    void lookupByUserIds() {
+        List<UserAddressResponse> found = List.of(address(10L, 1L));
+        when(addressService.findAddressesByUserIds(List.of(1L, 2L))).thenReturn(found);
+
+        ResponseEntity<?> response = controller.lookupAddresses(request(List.of(1L, 2L), null), SERVICE);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(found, response.getBody());
+    }
+
+    @Test
+    void lookupByAddressIds() {
+        List<UserAddressResponse> found = List.of(address(10L, 1L), address(11L, 2L));
+        when(addressService.findAddressesByIds(List.of(10L, 11L))).thenReturn(found);
+
+        ResponseEntity<?> response = controller.lookupAddresses(request(null, List.of(10L, 11L)), SERVICE);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(found, response.getBody());
+    }
+
+    @Test
+    void exactlyOneKindOfIdIsRequired() {
+        assertEquals(HttpStatus.BAD_REQUEST,
+                controller.lookupAddresses(request(null, null), SERVICE).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST,
+                controller.lookupAddresses(request(List.of(), List.of()), SERVICE).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST,
+                controller.lookupAddresses(request(List.of(1L), List.of(10L)), SERVICE).getStatusCode());
+
+        verifyNoInteractions(addressService);
+    }
+
+    @Test
+    void requestsOverTheCapAreRejected() {
+        List<Long> tooMany = Collections.nCopies(10_001, 1L);
+
+        assertEquals(HttpStatus.BAD_REQUEST,
+                controller.lookupAddresses(request(tooMany, null), SERVICE).getStatusCode());
+        verifyNoInteractions(addressService);
+    }
+
+    private static AddressLookupRequest request(List<Long> userIds, List<Long> addressIds) {
+        AddressLookupRequest request = new AddressLookupRequest();
+        request.setUserIds(userIds);
+        request.setAddressIds(addressIds);
+        return request;
+    }
+
+    private static UserAddressResponse address(Long addressId, Long userId) {
+        return new UserAddressResponse(addressId, userId, "Home", "Asha", "Rao", "9876543210",
+                "asha@example.com", "1 Main Road", null, "Pune", "MH", "411001", "India", true);
+    }
+}
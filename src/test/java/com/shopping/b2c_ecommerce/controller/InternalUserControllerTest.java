@@ -0,0 +1,69 @@
+package com.shopping.b2c_ecommerce.controller;
+
+import com.shopping.b2c_ecommerce.dto.UserLookupRequest;
+import com.shopping.b2c_ecommerce.dto.UserLookupResponse;
+import com.shopping.b2c_ecommerce.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class InternalUserControllerTest {
+
+    private static final Authentication SERVICE = new UsernamePasswordAuthenticationToken(
+            "order-service", null, List.of(new SimpleGrantedAuthority("ROLE_SERVICE")));
+
+    private UserService userService;
+    private InternalUserController controller;
+
+    @BeforeEach
+    void setUp() {
+        userService = mock(UserService.class);
+        controller = new InternalUserController(userService);
+    }
+
+    @Test
+    void lookupReturnsWhatTheServiceFound() {
+        List<UserLookupResponse> found = List.of(
+                new UserLookupResponse(2L, "asha@example.com", "9876543210", "LOCAL", true));
+        when(userService.lookupUsers(List.of(2L, 3L))).thenReturn(found);
+
+        ResponseEntity<?> response = controller.lookupUsers(request(List.of(2L, 3L)), SERVICE);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(found, response.getBody());
+    }
+
+    @Test
+    void emptyRequestIsRejected() {
+        assertEquals(HttpStatus.BAD_REQUEST, controller.lookupUsers(request(null), SERVICE).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, controller.lookupUsers(request(List.of()), SERVICE).getStatusCode());
+
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void requestsOverTheCapAreRejected() {
+        assertEquals(HttpStatus.BAD_REQUEST,
+                controller.lookupUsers(request(Collections.nCopies(1_001, 1L)), SERVICE).getStatusCode());
+
+        verifyNoInteractions(userService);
+    }
+
+    private static UserLookupRequest request(List<Long> userIds) {
+        UserLookupRequest request = new UserLookupRequest();
+        request.setUserIds(userIds);
+        return request;
+    }
+}
@@ -0,0 +1,156 @@
+package com.shopping.b2c_ecommerce.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.flywaydb.database.postgresql.PostgreSQLConfigurationExtension;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the bulk admin statements of UserRepository, exactly as declared in their @Query, against
+ * a migrated Postgres. Only rows of an ADMIN may change, whatever else the id list holds.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class AdminBulkStatementsTest {
+
+    private static final long UNKNOWN_ID = 999_999L;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final AtomicInteger users = new AtomicInteger();
+
+    private static NamedParameterJdbcTemplate jdbc;
+    private static Long adminRoleId;
+
+    @BeforeAll
+    static void migrate() {
+        FluentConfiguration configuration = Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .locations("classpath:db/migration");
+
+        configuration.getPluginRegister()
+                .getPlugin(PostgreSQLConfigurationExtension.class)
+                .setTransactionalLock(false);
+
+        configuration.load().migrate();
+
+        jdbc = new NamedParameterJdbcTemplate(new DriverManagerDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword()));
+
+        adminRoleId = roleId("ADMIN");
+    }
+
+    // =========================
+    // BULK STATUS
+    // =========================
+    @Test
+    void statusUpdateChangesOnlyAdminsNotAlreadyInTheTargetState() {
+        Long admin = user("ADMIN", true);
+        Long inactiveAdmin = user("ADMIN", false);
+        Long superAdmin = user("SUPER_ADMIN", true);
+        Long customer = user("CUSTOMER", true);
+
+        List<Long> updated = jdbc.queryForList(sql("updateAdminsActive", Collection.class, boolean.class,
+                        LocalDateTime.class, Long.class),
+                new MapSqlParameterSource()
+                        .addValue("ids", List.of(admin, inactiveAdmin, superAdmin, customer, UNKNOWN_ID))
+                        .addValue("active", false)
+                        .addValue("now", LocalDateTime.now())
+                        .addValue("adminRoleId", adminRoleId),
+                Long.class);
+
+        assertEquals(List.of(admin), updated);
+        assertEquals(false, active(admin));
+        assertEquals(false, active(inactiveAdmin));
+        assertEquals(true, active(superAdmin));
+        assertEquals(true, active(customer));
+    }
+
+    // =========================
+    // BULK DELETE
+    // =========================
+    @Test
+    void deleteRemovesAdminsWithTheirRoleAndResetTokensOnly() {
+        Long admin = user("ADMIN", true);
+        Long superAdmin = user("SUPER_ADMIN", true);
+        Long customer = user("CUSTOMER", true);
+
+        resetToken(admin);
+        resetToken(admin);
+        resetToken(superAdmin);
+
+        List<Long> deleted = jdbc.queryForList(sql("deleteAdmins", Collection.class, Long.class),
+                new MapSqlParameterSource()
+                        .addValue("ids", List.of(admin, superAdmin, customer, UNKNOWN_ID))
+                        .addValue("adminRoleId", adminRoleId),
+                Long.class);
+
+        assertEquals(List.of(admin), deleted);
+
+        assertEquals(0, count("SELECT count(*) FROM users WHERE id = :id", admin));
+        assertEquals(0, count("SELECT count(*) FROM user_roles WHERE user_id = :id", admin));
+        assertEquals(0, count("SELECT count(*) FROM password_reset_tokens WHERE user_id = :id", admin));
+
+        assertEquals(1, count("SELECT count(*) FROM users WHERE id = :id", superAdmin));
+        assertEquals(1, count("SELECT count(*) FROM password_reset_tokens WHERE user_id = :id", superAdmin));
+        assertEquals(1, count("SELECT count(*) FROM user_roles WHERE user_id = :id", customer));
+    }
+
+    // =========================
+    // HELPERS
+    // =========================
+    private static String sql(String method, Class<?>... parameterTypes) {
+        try {
+            return UserRepository.class.getMethod(method, parameterTypes).getAnnotation(Query.class).value();
+        } catch (NoSuchMethodException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static Long roleId(String name) {
+        return jdbc.queryForObject("SELECT id FROM roles WHERE name = :name", Map.of("name", name), Long.class);
+    }
+
+    private static Long user(String role, boolean active) {
+        Long userId = jdbc.queryForObject("""
+                INSERT INTO users (email, active, provider)
+                VALUES (:email, :active, 'LOCAL')
+                RETURNING id
+                """, Map.of("email", "user" + users.incrementAndGet() + "@example.com", "active", active), Long.class);
+
+        jdbc.update("INSERT INTO user_roles (user_id, role_id) VALUES (:userId, :roleId)",
+                Map.of("userId", userId, "roleId", roleId(role)));
+        return userId;
+    }
+
+    private static void resetToken(Long userId) {
+        jdbc.update("""
+                INSERT INTO password_reset_tokens (user_id, otp_hash, expires_at, used, created_at)
+                VALUES (:userId, '{hmac}digest', now() + interval '10 minutes', false, now())
+                """, Map.of("userId", userId));
+    }
+
+    private static Boolean active(Long userId) {
+        return jdbc.queryForObject("SELECT active FROM users WHERE id = :id", Map.of("id", userId), Boolean.class);
+    }
+
+    private static int count(String sql, Long userId) {
+        return jdbc.queryForObject(sql, Map.of("id", userId), Integer.class);
+    }
+}
@@ -0,0 +1,128 @@
+package com.shopping.b2c_ecommerce.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.flywaydb.database.postgresql.PostgreSQLConfigurationExtension;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs every migration against a real Postgres with the same Flyway lock setting as the app.
+ * With the default transactional lock the CONCURRENTLY index builds would never finish.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class SchemaMigrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static JdbcTemplate jdbc;
+
+    @BeforeAll
+    static void migrate() {
+        FluentConfiguration configuration = Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .locations("classpath:db/migration");
+
+        // spring.flyway.postgresql.transactional-lock: false
+        configuration.getPluginRegister()
+                .getPlugin(PostgreSQLConfigurationExtension.class)
+                .setTransactionalLock(false);
+
+        configuration.load().migrate();
+
+        jdbc = new JdbcTemplate(new DriverManagerDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword()));
+    }
+
+    @Test
+    void everyMigrationIsApplied() {
+        List<String> versions = jdbc.queryForList(
+                "SELECT version FROM flyway_schema_history WHERE success ORDER BY installed_rank", String.class);
+
+        assertEquals(List.of("1", "2", "3", "4", "5", "6"), versions);
+    }
+
+    @Test
+    void rolesAreSeeded() {
+        List<String> roles = jdbc.queryForList("SELECT name FROM roles ORDER BY name", String.class);
+
+        assertEquals(List.of("ADMIN", "CUSTOMER", "SUPER_ADMIN"), roles);
+    }
+
+    @Test
+    void concurrentIndexBuildsLeaveValidIndexes() {
+        List<String> indexes = jdbc.queryForList("""
+                SELECT c.relname
+                FROM pg_index i
+                JOIN pg_class c ON c.oid = i.indexrelid
+                JOIN pg_namespace n ON n.oid = c.relnamespace
+                WHERE n.nspname = 'public' AND i.indisvalid
+                """, String.class);
+
+        assertTrue(indexes.containsAll(List.of(
+                "idx_addresses_user_id",
+                "idx_password_reset_tokens_user_created",
+                "idx_user_roles_role_user",
+                "idx_password_reset_tokens_expires_at",
+                "uq_addresses_default_per_user")), indexes.toString());
+
+        assertEquals(0, jdbc.queryForObject("""
+                SELECT count(*)
+                FROM pg_index i
+                JOIN pg_class c ON c.oid = i.indexrelid
+                JOIN pg_namespace n ON n.oid = c.relnamespace
+                WHERE n.nspname = 'public' AND NOT i.indisvalid
+                """, Integer.class));
+    }
+
+    @Test
+    void adminListingIndexLeadsWithRoleThenUser() {
+        String definition = jdbc.queryForObject(
+                "SELECT indexdef FROM pg_indexes WHERE indexname = 'idx_user_roles_role_user'", String.class);
+
+        assertTrue(definition.endsWith("(role_id, user_id)"), definition);
+    }
+
+    @Test
+    void aUserCanHaveOnlyOneDefaultAddress() {
+        Long userId = jdbc.queryForObject(
+                "INSERT INTO users (email, active, provider) VALUES ('asha@example.com', true, 'LOCAL') RETURNING id",
+                Long.class);
+
+        insertAddress(userId, true);
+        insertAddress(userId, false);
+
+        assertThrows(DuplicateKeyException.class, () -> insertAddress(userId, true));
+    }
+
+    @Test
+    void newUsersStartAtAddressVersionZero() {
+        Long version = jdbc.queryForObject(
+                "INSERT INTO users (email, active, provider) VALUES ('ravi@example.com', true, 'LOCAL') RETURNING address_version",
+                Long.class);
+
+        assertEquals(0L, version);
+    }
+
+    private static void insertAddress(Long userId, boolean isDefault) {
+        jdbc.update("""
+                INSERT INTO addresses (user_id, label, first_name, last_name, contact_number, email,
+                                       address_line1, city, state, pincode, country, is_default)
+                VALUES (?, 'Home', 'Asha', 'Rao', '9876543210', 'asha@example.com',
+                        '1 Main Road', 'Pune', 'MH', '411001', 'India', ?)
+                """, userId, isDefault);
+    }
+}
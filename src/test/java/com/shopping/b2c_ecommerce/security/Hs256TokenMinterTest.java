@@ -0,0 +1,149 @@
+package com.shopping.b2c_ecommerce.security;
+
+import com.shopping.b2c_ecommerce.dto.UserIdentity;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * The hand-rolled HS256 minter must produce exactly the token the jjwt builder did for the same
+ * claims, so verifiers (ours and other services') cannot tell them apart.
+ */
+class Hs256TokenMinterTest {
+
+    private static final String SECRET = "test-secret-key-that-is-at-least-32-bytes-long";
+
+    private static final long ISSUED_AT = 1_790_000_000L;
+    private static final long EXPIRES_AT = ISSUED_AT + 3600;
+
+    private JwtKeyring keyring;
+
+    @BeforeEach
+    void setUp() {
+        keyring = new JwtKeyring("HS256", SECRET, "", "", event -> { });
+        keyring.init();
+    }
+
+    // =========================
+    // BYTE COMPATIBILITY
+    // =========================
+    @Test
+    void mintsTheSameBytesAsTheJjwtBuilder() {
+        SigningKey key = keyring.activeKey();
+
+        assertEquals(
+                jjwt(key, "admin@example.com", 42L, "ADMIN", ISSUED_AT, EXPIRES_AT),
+                new Hs256TokenMinter(key).mint("admin@example.com", 42L, "ADMIN", ISSUED_AT, EXPIRES_AT));
+    }
+
+    @Test
+    void mintsTheSameBytesAsTheJjwtBuilderWithKid() {
+        SigningKey base = keyring.activeKey();
+        SigningKey key = new SigningKey("2026-10", base.algorithm(), base.signingKey(), base.verificationKey(), null);
+
+        assertEquals(
+                jjwt(key, "admin@example.com", 42L, "ADMIN", ISSUED_AT, EXPIRES_AT),
+                new Hs256TokenMinter(key).mint("admin@example.com", 42L, "ADMIN", ISSUED_AT, EXPIRES_AT));
+    }
+
+    @Test
+    void omitsNullClaimsAsTheJjwtBuilderDoes() {
+        SigningKey key = keyring.activeKey();
+
+        assertEquals(
+                jjwt(key, null, 42L, null, ISSUED_AT, EXPIRES_AT),
+                new Hs256TokenMinter(key).mint(null, 42L, null, ISSUED_AT, EXPIRES_AT));
+    }
+
+    @Test
+    void escapesStringsAsTheJjwtBuilderDoes() {
+        SigningKey key = keyring.activeKey();
+        String subject = "quote\" back\\slash tab\t nl\n ctl\u001f\b\f umläut";
+
+        assertEquals(
+                jjwt(key, subject, 42L, "ADMIN", ISSUED_AT, EXPIRES_AT),
+                new Hs256TokenMinter(key).mint(subject, 42L, "ADMIN", ISSUED_AT, EXPIRES_AT));
+    }
+
+    @Test
+    void keepsHeaderAndClaimOrderAndSecondTimestamps() {
+        SigningKey base = keyring.activeKey();
+        SigningKey key = new SigningKey("2026-10", base.algorithm(), base.signingKey(), base.verificationKey(), null);
+
+        String[] parts = new Hs256TokenMinter(key)
+                .mint("admin@example.com", 42L, "ADMIN", ISSUED_AT, EXPIRES_AT)
+                .split("\\.");
+
+        assertEquals("{\"kid\":\"2026-10\",\"alg\":\"HS256\"}", decode(parts[0]));
+        assertEquals("{\"sub\":\"admin@example.com\",\"userId\":42,\"role\":\"ADMIN\","
+                + "\"iat\":" + ISSUED_AT + ",\"exp\":" + EXPIRES_AT + "}", decode(parts[1]));
+    }
+
+    // =========================
+    // VERIFICATION
+    // =========================
+    @Test
+    void tokenVerifierAcceptsTheMintedToken() {
+        long now = Instant.now().getEpochSecond();
+
+        String token = new Hs256TokenMinter(keyring.activeKey())
+                .mint("admin@example.com", 42L, "ADMIN", now, now + 600);
+
+        TokenVerification verification = new TokenVerifier(keyring).verify(token);
+
+        assertEquals(TokenVerification.Status.VALID, verification.status());
+        assertEquals(42L, verification.userId());
+        assertEquals("admin@example.com", verification.email());
+        assertEquals("ADMIN", verification.role());
+        assertEquals(Instant.ofEpochSecond(now + 600), verification.expiresAt());
+    }
+
+    @Test
+    void jwtUtilMintsHs256TokensTheVerifierAccepts() {
+        JwtUtil jwtUtil = new JwtUtil(keyring);
+        ReflectionTestUtils.setField(jwtUtil, "expirationMinutes", 60L);
+
+        String token = jwtUtil.generateToken(new UserIdentity(42L, "admin@example.com", "ADMIN"));
+        TokenVerification verification = new TokenVerifier(keyring).verify(token);
+
+        assertEquals(TokenVerification.Status.VALID, verification.status());
+        assertEquals(42L, verification.userId());
+        assertNull(Jwts.parserBuilder().setSigningKey(keyring.activeKey().verificationKey()).build()
+                .parseClaimsJws(token).getHeader().getKeyId());
+    }
+
+    // =========================
+    // HELPERS
+    // =========================
+    // What JwtUtil built before the minter, for the same claims and second-aligned timestamps
+    private static String jjwt(SigningKey key, String subject, Long userId, String role,
+                               long issuedAtSeconds, long expiresAtSeconds) {
+
+        JwtBuilder builder = Jwts.builder()
+                .setSubject(subject)
+                .claim("userId", userId)
+                .claim("role", role)
+                .setIssuedAt(new Date(issuedAtSeconds * 1000))
+                .setExpiration(new Date(expiresAtSeconds * 1000));
+
+        if (key.keyId() != null) {
+            builder.setHeaderParam("kid", key.keyId());
+        }
+
+        return builder.signWith(key.signingKey(), key.algorithm()).compact();
+    }
+
+    private static String decode(String segment) {
+        return new String(Base64.getUrlDecoder().decode(segment), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,143 @@
+package com.shopping.b2c_ecommerce.security;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InternalApiKeyFilterTest {
+
+    private static final String KEYS = "order-service:order-key-0123456789,shipping-service:shipping-key-0123456789";
+    private static final String LOOKUP = "/internal/addresses/lookup";
+
+    private final InternalApiKeyFilter filter = new InternalApiKeyFilter(KEYS);
+
+    private final AtomicBoolean chainCalled = new AtomicBoolean();
+    private final AtomicReference<Authentication> seen = new AtomicReference<>();
+    private final FilterChain chain = (request, response) -> {
+        chainCalled.set(true);
+        seen.set(SecurityContextHolder.getContext().getAuthentication());
+    };
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void knownKeyAuthenticatesTheCallingService() throws Exception {
+        MockHttpServletResponse response = send(filter, LOOKUP, "shipping-key-0123456789");
+
+        assertEquals(200, response.getStatus());
+        assertTrue(chainCalled.get());
+        assertEquals("shipping-service", seen.get().getName());
+        assertEquals("ROLE_SERVICE", seen.get().getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority).findFirst().orElseThrow());
+    }
+
+    @Test
+    void missingKeyIsRejected() throws Exception {
+        MockHttpServletResponse response = send(filter, LOOKUP, null);
+
+        assertEquals(401, response.getStatus());
+        assertEquals("{\"message\":\"Invalid internal API key\"}", response.getContentAsString());
+        assertFalse(chainCalled.get());
+    }
+
+    @Test
+    void unknownKeyIsRejected() throws Exception {
+        assertEquals(401, send(filter, LOOKUP, "order-key-012345678").getStatus());
+        assertFalse(chainCalled.get());
+    }
+
+    @Test
+    void customerJwtCannotStandInForAKey() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", LOOKUP);
+        request.addHeader("Authorization", "Bearer a.b.c");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(401, response.getStatus());
+        assertFalse(chainCalled.get());
+    }
+
+    @Test
+    void otherPathsAreLeftToTheJwtFilter() throws Exception {
+        MockHttpServletResponse response = send(filter, "/customer/addresses", null);
+
+        assertEquals(200, response.getStatus());
+        assertTrue(chainCalled.get());
+        assertNull(seen.get());
+    }
+
+    @Test
+    void withoutConfiguredKeysEveryInternalCallIsRejected() throws Exception {
+        assertEquals(401, send(new InternalApiKeyFilter(""), LOOKUP, "order-key-0123456789").getStatus());
+    }
+
+    @Test
+    void malformedKeyConfigurationFailsAtStartup() {
+        assertThrows(IllegalStateException.class, () -> new InternalApiKeyFilter("order-service"));
+        assertThrows(IllegalStateException.class, () -> new InternalApiKeyFilter(":key"));
+        assertThrows(IllegalStateException.class, () -> new InternalApiKeyFilter("a:key1,a:key2"));
+    }
+
+    // =========================
+    // /actuator/metrics
+    // =========================
+
+    @Test
+    void metricsWithoutAKeyFallThroughToTheJwtFilter() throws Exception {
+        MockHttpServletResponse response = send(filter, "/actuator/metrics/jvm.memory.used", null);
+
+        assertEquals(200, response.getStatus());
+        assertTrue(chainCalled.get());
+        assertNull(seen.get());
+    }
+
+    @Test
+    void metricsWithAKnownKeyAreReadAsThatService() throws Exception {
+        send(filter, "/actuator/metrics", "order-key-0123456789");
+
+        assertTrue(chainCalled.get());
+        assertEquals("order-service", seen.get().getName());
+    }
+
+    @Test
+    void metricsWithAWrongKeyAreRejected() throws Exception {
+        assertEquals(401, send(filter, "/actuator/metrics", "wrong-key").getStatus());
+        assertFalse(chainCalled.get());
+    }
+
+    @Test
+    void lookalikeActuatorPathsAreNotTreatedAsMetrics() throws Exception {
+        send(filter, "/actuator/metricsx", "wrong-key");
+
+        assertTrue(chainCalled.get());
+        assertNull(seen.get());
+    }
+
+    private MockHttpServletResponse send(InternalApiKeyFilter target, String uri, String apiKey) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        if (apiKey != null) {
+            request.addHeader(InternalApiKeyFilter.API_KEY_HEADER, apiKey);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        target.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,214 @@
+package com.shopping.b2c_ecommerce.security;
+
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.Key;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtKeyringTest {
+
+    private static final String BASE_SECRET = "base-secret-key-that-is-at-least-32-bytes-long";
+    private static final String SECRET_A = "keyring-secret-a-that-is-at-least-32-bytes-long";
+    private static final String SECRET_B = "keyring-secret-b-that-is-at-least-32-bytes-long";
+
+    @TempDir
+    Path dir;
+
+    private Path file;
+    private int writes;
+    private List<Object> events;
+    private JwtKeyring keyring;
+    private TokenVerifier tokenVerifier;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = dir.resolve("keyring.json");
+        write("a", key("a", SECRET_A));
+
+        events = new ArrayList<>();
+        keyring = new JwtKeyring("HS256", BASE_SECRET, "", file.toString(), events::add);
+        keyring.init();
+
+        tokenVerifier = new TokenVerifier(keyring);
+    }
+
+    // =========================
+    // HOT RELOAD
+    // =========================
+    @Test
+    void activeKidSignsAndBaseKeyStillVerifiesTokensWithoutKid() {
+        assertEquals("a", keyring.activeKey().keyId());
+        assertEquals(TokenVerification.Status.VALID, tokenVerifier.verify(token(null, BASE_SECRET)).status());
+        assertEquals(TokenVerification.Status.VALID, tokenVerifier.verify(token("a", SECRET_A)).status());
+    }
+
+    @Test
+    void reloadPromotesTheNewKeyAndKeepsTheOldOneForVerification() throws IOException {
+        String issuedUnderA = token("a", SECRET_A);
+
+        write("b", key("a", SECRET_A), key("b", SECRET_B));
+        keyring.reloadIfChanged();
+
+        assertEquals("b", keyring.activeKey().keyId());
+        assertEquals(List.of(new JwtKeyringReloadedEvent("b")), events);
+        assertEquals(TokenVerification.Status.VALID, tokenVerifier.verify(issuedUnderA).status());
+        assertEquals(TokenVerification.Status.VALID, tokenVerifier.verify(token("b", SECRET_B)).status());
+    }
+
+    @Test
+    void retiredKeyNoLongerVerifies() throws IOException {
+        String issuedUnderA = token("a", SECRET_A);
+
+        write("b", key("b", SECRET_B));
+        keyring.reloadIfChanged();
+
+        assertNull(keyring.find("a"));
+        assertEquals(TokenVerification.Status.BAD_SIGNATURE, tokenVerifier.verify(issuedUnderA).status());
+    }
+
+    @Test
+    void unchangedFileIsNotReloaded() {
+        keyring.reloadIfChanged();
+
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void brokenReloadKeepsThePreviousKeys() throws IOException {
+        Files.writeString(file, "{ \"activeKid\": \"missing\", \"keys\": [] }");
+        touch();
+
+        keyring.reloadIfChanged();
+
+        assertEquals("a", keyring.activeKey().keyId());
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void brokenKeyringFailsAtStartup() throws IOException {
+        write("missing", key("a", SECRET_A));
+
+        JwtKeyring broken = new JwtKeyring("HS256", BASE_SECRET, "", file.toString(), event -> { });
+
+        assertThrows(IllegalStateException.class, broken::init);
+    }
+
+    // =========================
+    // TOKENS WITHOUT A KID
+    // =========================
+    @Test
+    void reloadCanRetireTheBaseKey() throws IOException {
+        String issuedUnderBase = token(null, BASE_SECRET);
+
+        writeWithLegacyKid("a", "none", key("a", SECRET_A));
+        keyring.reloadIfChanged();
+
+        assertNull(keyring.find(null));
+        assertEquals(TokenVerification.Status.BAD_SIGNATURE, tokenVerifier.verify(issuedUnderBase).status());
+        assertEquals(TokenVerification.Status.VALID, tokenVerifier.verify(token("a", SECRET_A)).status());
+    }
+
+    @Test
+    void legacyKidChoosesTheKeyForTokensWithoutKid() throws IOException {
+        writeWithLegacyKid("b", "a", key("a", SECRET_A), key("b", SECRET_B));
+        keyring.reloadIfChanged();
+
+        assertEquals(TokenVerification.Status.VALID, tokenVerifier.verify(token(null, SECRET_A)).status());
+        assertEquals(TokenVerification.Status.BAD_SIGNATURE, tokenVerifier.verify(token(null, BASE_SECRET)).status());
+    }
+
+    @Test
+    void legacyKidNamingNoKeyKeepsThePreviousKeys() throws IOException {
+        writeWithLegacyKid("a", "missing", key("a", SECRET_A));
+        keyring.reloadIfChanged();
+
+        assertTrue(events.isEmpty());
+        assertEquals(TokenVerification.Status.VALID, tokenVerifier.verify(token(null, BASE_SECRET)).status());
+    }
+
+    // =========================
+    // KID / ALG MISMATCH
+    // =========================
+    @Test
+    void unknownKidIsRejected() {
+        assertEquals(TokenVerification.Status.BAD_SIGNATURE, tokenVerifier.verify(token("unknown", SECRET_A)).status());
+    }
+
+    @Test
+    void tokenUnderAKnownKidWithTheWrongSecretIsRejected() {
+        assertEquals(TokenVerification.Status.BAD_SIGNATURE, tokenVerifier.verify(token("a", SECRET_B)).status());
+    }
+
+    @Test
+    void algorithmOtherThanTheKeysIsRejected() {
+        // HS512 over the same kid: the resolver must refuse before checking the signature
+        Key hs512 = Keys.hmacShaKeyFor((SECRET_A + SECRET_A).getBytes(StandardCharsets.UTF_8));
+
+        String token = Jwts.builder()
+                .setHeaderParam("kid", "a")
+                .setSubject("admin@example.com")
+                .setExpiration(Date.from(Instant.now().plusSeconds(600)))
+                .signWith(hs512, SignatureAlgorithm.HS512)
+                .compact();
+
+        assertEquals(TokenVerification.Status.BAD_SIGNATURE, tokenVerifier.verify(token).status());
+    }
+
+    // =========================
+    // HELPERS
+    // =========================
+    private void write(String activeKid, String... keys) throws IOException {
+        Files.writeString(file, "{ \"activeKid\": \"" + activeKid + "\", \"keys\": [" + String.join(",", keys) + "] }");
+        touch();
+    }
+
+    private void writeWithLegacyKid(String activeKid, String legacyKid, String... keys) throws IOException {
+        Files.writeString(file, "{ \"activeKid\": \"" + activeKid + "\", \"legacyKid\": \"" + legacyKid
+                + "\", \"keys\": [" + String.join(",", keys) + "] }");
+        touch();
+    }
+
+    // The reload is keyed on the modification time, which may not tick between two writes in a test
+    private void touch() throws IOException {
+        Files.setLastModifiedTime(file, FileTime.from(Instant.ofEpochSecond(1_790_000_000L + ++writes)));
+    }
+
+    private static String key(String kid, String secret) {
+        return "{ \"kid\": \"" + kid + "\", \"alg\": \"HS256\", \"secret\": \"" + secret + "\" }";
+    }
+
+    private static String token(String kid, String secret) {
+        JwtBuilder builder = Jwts.builder()
+                .setSubject("admin@example.com")
+                .claim("userId", 42L)
+                .claim("role", "ADMIN")
+                .setExpiration(Date.from(Instant.now().plusSeconds(600)));
+
+        if (kid != null) {
+            builder.setHeaderParam("kid", kid);
+        }
+
+        return builder
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
@@ -0,0 +1,56 @@
+package com.shopping.b2c_ecommerce.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OtpDigesterTest {
+
+    private static final String JWT_SECRET = "test-secret-key-that-is-at-least-32-bytes-long!!";
+
+    private final OtpDigester digester = new OtpDigester("", JWT_SECRET);
+
+    @Test
+    void digestIsPrefixedAndStable() {
+        String digest = digester.digest("A1B2C3");
+
+        assertTrue(digest.startsWith(OtpDigester.PREFIX));
+        assertEquals(digest, digester.digest("A1B2C3"));
+        assertNotEquals(digest, digester.digest("A1B2C4"));
+        // base64url of a 32-byte HMAC, no padding
+        assertEquals(OtpDigester.PREFIX.length() + 43, digest.length());
+    }
+
+    @Test
+    void matchesOnlyTheSameOtp() {
+        String stored = digester.digest("A1B2C3");
+
+        assertTrue(digester.matches("A1B2C3", stored));
+        assertFalse(digester.matches("a1b2c3", stored));
+        assertFalse(digester.matches(null, stored));
+    }
+
+    @Test
+    void legacyBcryptRowsAreNotDigests() {
+        String bcrypt = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3gPS2rVQNqQWdm5JfGvCq6W";
+
+        assertFalse(digester.isDigest(bcrypt));
+        assertFalse(digester.isDigest(null));
+        assertFalse(digester.matches("A1B2C3", bcrypt));
+    }
+
+    @Test
+    void digestDependsOnTheKey() {
+        OtpDigester explicitKey = new OtpDigester("a-dedicated-otp-key-of-32-bytes!!", JWT_SECRET);
+        OtpDigester otherSecret = new OtpDigester("", JWT_SECRET + "x");
+
+        String digest = digester.digest("A1B2C3");
+
+        assertNotEquals(digest, explicitKey.digest("A1B2C3"));
+        assertNotEquals(digest, otherSecret.digest("A1B2C3"));
+        assertFalse(explicitKey.matches("A1B2C3", digest));
+    }
+}
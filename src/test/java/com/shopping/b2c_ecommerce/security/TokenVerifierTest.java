@@ -0,0 +1,149 @@
+package com.shopping.b2c_ecommerce.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TokenVerifierTest {
+
+    private static final String SECRET = "test-secret-key-that-is-at-least-32-bytes-long";
+    private static final String OTHER_SECRET = "another-secret-key-that-is-at-least-32-bytes";
+
+    private TokenVerifier tokenVerifier;
+
+    @BeforeEach
+    void setUp() {
+        JwtKeyring keyring = new JwtKeyring("HS256", SECRET, "", "", event -> { });
+        keyring.init();
+        tokenVerifier = new TokenVerifier(keyring);
+    }
+
+    // =========================
+    // STATUS MAPPING
+    // =========================
+    @Test
+    void validTokenCarriesItsIdentity() {
+        Instant exp = Instant.now().plusSeconds(600);
+
+        TokenVerification verification = tokenVerifier.verify(token(SECRET, exp));
+
+        assertEquals(TokenVerification.Status.VALID, verification.status());
+        assertEquals(42L, verification.userId());
+        assertEquals("admin@example.com", verification.email());
+        assertEquals("ADMIN", verification.role());
+        assertEquals(exp.getEpochSecond(), verification.expiresAt().getEpochSecond());
+    }
+
+    @Test
+    void expiredTokenIsReportedAsExpiredWithItsClaims() {
+        TokenVerification verification = tokenVerifier.verify(token(SECRET, Instant.now().minusSeconds(60)));
+
+        assertEquals(TokenVerification.Status.EXPIRED, verification.status());
+        assertEquals(42L, verification.userId());
+        assertEquals("ADMIN", verification.role());
+    }
+
+    @Test
+    void tokenSignedWithAnotherSecretHasABadSignature() {
+        TokenVerification verification = tokenVerifier.verify(token(OTHER_SECRET, Instant.now().plusSeconds(600)));
+
+        assertEquals(TokenVerification.Status.BAD_SIGNATURE, verification.status());
+        assertNull(verification.userId());
+    }
+
+    @Test
+    void tamperedPayloadHasABadSignature() {
+        String[] parts = token(SECRET, Instant.now().plusSeconds(600)).split("\\.");
+        String payload = base64Url("{\"sub\":\"admin@example.com\",\"userId\":1,\"role\":\"SUPER_ADMIN\",\"exp\":"
+                + Instant.now().plusSeconds(600).getEpochSecond() + "}");
+
+        TokenVerification verification = tokenVerifier.verify(parts[0] + '.' + payload + '.' + parts[2]);
+
+        assertEquals(TokenVerification.Status.BAD_SIGNATURE, verification.status());
+    }
+
+    @Test
+    void wellFormedButUnparseableTokenIsMalformed() {
+        String token = base64Url("this is not json") + '.' + base64Url("nor is this") + ".c2lnbmF0dXJl";
+
+        TokenVerification verification = tokenVerifier.verify(token);
+
+        assertEquals(TokenVerification.Status.MALFORMED, verification.status());
+        assertNull(verification.userId());
+    }
+
+    @Test
+    void structurallyInvalidTokenIsMalformed() {
+        assertEquals(TokenVerification.Status.MALFORMED, tokenVerifier.verify("not-a-jwt").status());
+        assertEquals(TokenVerification.Status.MALFORMED, tokenVerifier.verify(null).status());
+    }
+
+    @Test
+    void wrongTypedIdentityClaimsAreMalformedWhetherValidOrExpired() {
+        for (Instant exp : new Instant[] { Instant.now().plusSeconds(600), Instant.now().minusSeconds(60) }) {
+            String stringUserId = Jwts.builder()
+                    .setSubject("admin@example.com")
+                    .claim("userId", "not-a-number")
+                    .claim("role", "ADMIN")
+                    .setExpiration(Date.from(exp))
+                    .signWith(key(SECRET), SignatureAlgorithm.HS256)
+                    .compact();
+
+            String numericRole = Jwts.builder()
+                    .setSubject("admin@example.com")
+                    .claim("userId", 42L)
+                    .claim("role", 7)
+                    .setExpiration(Date.from(exp))
+                    .signWith(key(SECRET), SignatureAlgorithm.HS256)
+                    .compact();
+
+            assertEquals(TokenVerification.Status.MALFORMED, tokenVerifier.verify(stringUserId).status());
+            assertEquals(TokenVerification.Status.MALFORMED, tokenVerifier.verify(numericRole).status());
+        }
+    }
+
+    @Test
+    void unknownKidHasABadSignature() {
+        String token = Jwts.builder()
+                .setHeaderParam("kid", "retired")
+                .setSubject("admin@example.com")
+                .setExpiration(Date.from(Instant.now().plusSeconds(600)))
+                .signWith(key(SECRET), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertEquals(TokenVerification.Status.BAD_SIGNATURE, tokenVerifier.verify(token).status());
+    }
+
+    // =========================
+    // HELPERS
+    // =========================
+    private static String token(String secret, Instant expiresAt) {
+        return Jwts.builder()
+                .setSubject("admin@example.com")
+                .claim("userId", 42L)
+                .claim("role", "ADMIN")
+                .setIssuedAt(Date.from(expiresAt.minusSeconds(3600)))
+                .setExpiration(Date.from(expiresAt))
+                .signWith(key(secret), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    private static Key key(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String base64Url(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,73 @@
+package com.shopping.b2c_ecommerce.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopping.b2c_ecommerce.dto.UserAddressResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class AddressListingCacheTest {
+
+    private static final Long USER_ID = 7L;
+
+    private AddressListingCache cache;
+    private List<UserAddressResponse> stored;
+    private AtomicInteger loads;
+    private Function<Long, List<UserAddressResponse>> loader;
+
+    @BeforeEach
+    void setUp() {
+        cache = new AddressListingCache(new ObjectMapper(), new SimpleMeterRegistry(), 100, 300);
+        stored = new ArrayList<>(List.of(address(1L, true)));
+        loads = new AtomicInteger();
+        loader = userId -> {
+            loads.incrementAndGet();
+            return List.copyOf(stored);
+        };
+    }
+
+    @Test
+    void unchangedVersionIsServedFromTheCache() {
+        AddressListing first = cache.get(USER_ID, "\"7-1\"", loader);
+
+        assertSame(first, cache.get(USER_ID, "\"7-1\"", loader));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void newVersionReloadsWithoutAnInvalidate() {
+        // A write on another node only shows up as a new version
+        cache.get(USER_ID, "\"7-1\"", loader);
+        stored.add(address(2L, false));
+
+        AddressListing after = cache.get(USER_ID, "\"7-2\"", loader);
+
+        assertEquals(2, after.count());
+        assertEquals("\"7-2\"", after.etag());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidateReloadsTheChangedList() {
+        cache.get(USER_ID, "\"7-1\"", loader);
+
+        stored.add(address(2L, false));
+        cache.invalidate(USER_ID);
+
+        assertEquals(2, cache.get(USER_ID, "\"7-1\"", loader).count());
+        assertEquals(2, loads.get());
+    }
+
+    private static UserAddressResponse address(Long id, boolean isDefault) {
+        return new UserAddressResponse(id, USER_ID, "HOME", "Asha", "Rao", "919876543210", "asha@example.com",
+                "12 MG Road", null, "Bengaluru", "Karnataka", "560001", "India", isDefault);
+    }
+}
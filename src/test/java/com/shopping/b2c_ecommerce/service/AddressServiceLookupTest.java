@@ -0,0 +1,67 @@
+package com.shopping.b2c_ecommerce.service;
+
+import com.shopping.b2c_ecommerce.dto.UserAddressResponse;
+import com.shopping.b2c_ecommerce.repository.AddressRepository;
+import com.shopping.b2c_ecommerce.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Bulk lookups for internal services: distinct, sorted ids sent as IN queries of at most
+ * chunk-size ids each.
+ */
+class AddressServiceLookupTest {
+
+    private AddressRepository addressRepository;
+    private AddressService addressService;
+
+    @BeforeEach
+    void setUp() {
+        addressRepository = mock(AddressRepository.class);
+        addressService = new AddressService(addressRepository, mock(UserRepository.class),
+                mock(AddressListingCache.class), 2);
+    }
+
+    @Test
+    void userIdsAreDedupedSortedAndChunked() {
+        when(addressRepository.findResponsesByUserIdIn(List.of(1L, 3L))).thenReturn(List.of(address(10L, 1L)));
+        when(addressRepository.findResponsesByUserIdIn(List.of(4L, 5L))).thenReturn(List.of(address(11L, 5L)));
+        when(addressRepository.findResponsesByUserIdIn(List.of(9L))).thenReturn(List.of(address(12L, 9L)));
+
+        List<UserAddressResponse> found = addressService.findAddressesByUserIds(Arrays.asList(5L, 1L, 9L, 3L, 1L, null, 4L));
+
+        assertEquals(List.of(10L, 11L, 12L), found.stream().map(UserAddressResponse::getAddressId).toList());
+    }
+
+    @Test
+    void addressIdsUseThePrimaryKeyLookup() {
+        when(addressRepository.findResponsesByIdIn(List.of(10L, 11L))).thenReturn(List.of(address(10L, 1L), address(11L, 2L)));
+
+        List<UserAddressResponse> found = addressService.findAddressesByIds(List.of(11L, 10L, 11L));
+
+        assertEquals(2, found.size());
+        verify(addressRepository, never()).findResponsesByUserIdIn(anyList());
+    }
+
+    @Test
+    void nothingToLookUpRunsNoQuery() {
+        assertEquals(List.of(), addressService.findAddressesByUserIds(Arrays.asList(null, null)));
+
+        verify(addressRepository, never()).findResponsesByUserIdIn(anyList());
+    }
+
+    private static UserAddressResponse address(Long addressId, Long userId) {
+        return new UserAddressResponse(addressId, userId, "Home", "Asha", "Rao", "9876543210",
+                "asha@example.com", "1 Main Road", null, "Pune", "MH", "411001", "India", true);
+    }
+}
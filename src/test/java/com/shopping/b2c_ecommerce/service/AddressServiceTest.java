@@ -0,0 +1,206 @@
+package com.shopping.b2c_ecommerce.service;
+
+import com.shopping.b2c_ecommerce.dto.AddAddressRequest;
+import com.shopping.b2c_ecommerce.entity.Address;
+import com.shopping.b2c_ecommerce.entity.User;
+import com.shopping.b2c_ecommerce.exception.AddressDefaultConflictException;
+import com.shopping.b2c_ecommerce.repository.AddressRepository;
+import com.shopping.b2c_ecommerce.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AddressServiceTest {
+
+    private static final Long USER_ID = 7L;
+
+    private AddressRepository addressRepository;
+    private AddressListingCache addressListingCache;
+    private UserRepository userRepository;
+    private AddressService addressService;
+
+    @BeforeEach
+    void setUp() {
+        addressRepository = mock(AddressRepository.class);
+        addressListingCache = mock(AddressListingCache.class);
+
+        userRepository = mock(UserRepository.class);
+        when(userRepository.getReferenceById(USER_ID)).thenReturn(user(USER_ID));
+
+        when(addressRepository.saveAndFlush(any(Address.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        addressService = new AddressService(addressRepository, userRepository, addressListingCache, 1000);
+    }
+
+    // =========================
+    // DEFAULT FLAG
+    // =========================
+    @Test
+    void firstAddressIsSavedAsDefaultInTheInsert() {
+        when(addressRepository.hasDefault(USER_ID)).thenReturn(false);
+
+        Address saved = addressService.addAddress(USER_ID, request(false));
+
+        assertTrue(saved.getIsDefault());
+        verify(addressRepository, times(1)).saveAndFlush(any(Address.class));
+    }
+
+    @Test
+    void laterNonDefaultAddressKeepsTheExistingDefault() {
+        when(addressRepository.hasDefault(USER_ID)).thenReturn(true);
+
+        Address saved = addressService.addAddress(USER_ID, request(false));
+
+        assertFalse(saved.getIsDefault());
+        verify(addressRepository, never()).clearDefaultForUser(any());
+    }
+
+    @Test
+    void newDefaultClearsTheOldOneBeforeTheInsert() {
+        ArgumentCaptor<Address> captor = ArgumentCaptor.forClass(Address.class);
+
+        addressService.addAddress(USER_ID, request(true));
+
+        verify(addressRepository).clearDefaultForUser(USER_ID);
+        verify(addressRepository).saveAndFlush(captor.capture());
+        assertTrue(captor.getValue().getIsDefault());
+    }
+
+    // =========================
+    // CONCURRENT DEFAULT SWAP
+    // =========================
+    @Test
+    void concurrentDefaultOnAddIsReportedAsConflict() {
+        when(addressRepository.saveAndFlush(any(Address.class)))
+                .thenThrow(violation(AddressRepository.DEFAULT_ADDRESS_INDEX));
+
+        assertThrows(AddressDefaultConflictException.class,
+                () -> addressService.addAddress(USER_ID, request(true)));
+    }
+
+    @Test
+    void concurrentDefaultOnUpdateIsReportedAsConflict() {
+        when(addressRepository.findById(11L)).thenReturn(Optional.of(address(11L, false)));
+        when(addressRepository.saveAndFlush(any(Address.class)))
+                .thenThrow(violation(AddressRepository.DEFAULT_ADDRESS_INDEX));
+
+        assertThrows(AddressDefaultConflictException.class,
+                () -> addressService.updateAddress(USER_ID, 11L, request(true)));
+    }
+
+    @Test
+    void otherConstraintViolationsAreNotTranslated() {
+        DataIntegrityViolationException other = violation("addresses_user_id_fkey");
+        when(addressRepository.saveAndFlush(any(Address.class))).thenThrow(other);
+
+        DataIntegrityViolationException thrown = assertThrows(DataIntegrityViolationException.class,
+                () -> addressService.addAddress(USER_ID, request(true)));
+
+        assertSame(other, thrown);
+    }
+
+    // =========================
+    // LISTING CACHE
+    // =========================
+    @Test
+    void addInvalidatesTheListing() {
+        addressService.addAddress(USER_ID, request(false));
+
+        verify(addressListingCache).invalidate(USER_ID);
+        verify(userRepository).incrementAddressVersion(USER_ID);
+    }
+
+    @Test
+    void updateInvalidatesTheListing() {
+        when(addressRepository.findById(11L)).thenReturn(Optional.of(address(11L, false)));
+
+        addressService.updateAddress(USER_ID, 11L, request(false));
+
+        verify(addressListingCache).invalidate(USER_ID);
+        verify(userRepository).incrementAddressVersion(USER_ID);
+    }
+
+    @Test
+    void deleteInvalidatesTheListing() {
+        when(addressRepository.findById(11L)).thenReturn(Optional.of(address(11L, true)));
+
+        addressService.deleteAddress(USER_ID, 11L);
+
+        verify(addressListingCache).invalidate(USER_ID);
+        verify(userRepository).incrementAddressVersion(USER_ID);
+        verify(addressRepository).promoteMostRecentToDefault(USER_ID);
+    }
+
+    @Test
+    void etagComesFromTheAddressVersion() {
+        when(userRepository.findAddressVersion(USER_ID)).thenReturn(Optional.of(3L));
+
+        assertEquals("\"7-3\"", addressService.getAddressEtag(USER_ID));
+        verify(addressRepository, never()).findResponsesByUserId(any());
+    }
+
+    @Test
+    void listingIsCachedUnderTheCurrentVersion() {
+        when(userRepository.findAddressVersion(USER_ID)).thenReturn(Optional.of(3L));
+
+        addressService.getAddressListing(USER_ID);
+
+        verify(addressListingCache).get(eq(USER_ID), eq("\"7-3\""), any());
+    }
+
+    // =========================
+    // HELPERS
+    // =========================
+    private static Address address(Long id, boolean isDefault) {
+        Address address = new Address();
+        address.setId(id);
+        address.setUser(user(USER_ID));
+        address.setIsDefault(isDefault);
+        return address;
+    }
+
+    private static DataIntegrityViolationException violation(String constraintName) {
+        return new DataIntegrityViolationException("duplicate key",
+                new ConstraintViolationException("duplicate key", new SQLException("duplicate key"), constraintName));
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    private static AddAddressRequest request(boolean isDefault) {
+        AddAddressRequest request = new AddAddressRequest();
+        request.setLabel("HOME");
+        request.setFirstName("Asha");
+        request.setLastName("Rao");
+        request.setContactNumber("9876543210");
+        request.setEmail("asha@example.com");
+        request.setAddressLine1("12 MG Road");
+        request.setCity("Bengaluru");
+        request.setState("Karnataka");
+        request.setPincode("560001");
+        request.setCountry("India");
+        request.setIsDefault(isDefault);
+        return request;
+    }
+}
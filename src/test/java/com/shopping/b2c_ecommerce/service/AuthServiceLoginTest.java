@@ -0,0 +1,149 @@
+package com.shopping.b2c_ecommerce.service;
+
+import com.shopping.b2c_ecommerce.dto.UserAuthView;
+import com.shopping.b2c_ecommerce.dto.UserIdentity;
+import com.shopping.b2c_ecommerce.exception.AccountInactiveException;
+import com.shopping.b2c_ecommerce.exception.InvalidCredentialsException;
+import com.shopping.b2c_ecommerce.exception.RoleNotFoundException;
+import com.shopping.b2c_ecommerce.repository.UserRepository;
+import com.shopping.b2c_ecommerce.repository.UserRoleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Password login: the identity comes from one joined row, and a successful login with a hash in
+ * an outdated format or cost re-hashes the password off the request path.
+ */
+class AuthServiceLoginTest {
+
+    private static final Long ADMIN_ID = 5L;
+    private static final String EMAIL = "admin@example.com";
+    private static final String PASSWORD = "secret-password";
+    private static final String STALE_HASH = "$2a$10$legacyHashWithoutAnIdPrefix";
+    private static final String NEW_HASH = "{bcrypt}$2a$12$upgraded";
+
+    private UserRepository userRepository;
+    private UserRoleRepository userRoleRepository;
+    private PasswordHashingService passwordHashingService;
+    private UserIdentityCache userIdentityCache;
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        userRoleRepository = mock(UserRoleRepository.class);
+        passwordHashingService = mock(PasswordHashingService.class);
+        userIdentityCache = spy(new UserIdentityCache(userRepository, new SimpleMeterRegistry(), 100, 300));
+
+        UserService userService = new UserService(userRepository, userRoleRepository, userIdentityCache,
+                mock(RoleService.class), mock(PlatformTransactionManager.class));
+
+        authService = new AuthService(userService, userRoleRepository, passwordHashingService,
+                mock(GoogleOAuthService.class), mock(OtpService.class), mock(EmailOtpService.class),
+                userRepository, userIdentityCache);
+
+        storedRow(STALE_HASH, true, "ADMIN");
+        when(passwordHashingService.matches(PASSWORD, STALE_HASH)).thenReturn(true);
+    }
+
+    // =========================
+    // JOINED LOGIN ROW
+    // =========================
+    @Test
+    void identityComesFromTheJoinedRow() {
+        UserIdentity identity = authService.authenticate(EMAIL, PASSWORD);
+
+        assertEquals(ADMIN_ID, identity.getUserId());
+        assertEquals(EMAIL, identity.getEmail());
+        assertEquals("ADMIN", identity.getRole());
+        verifyNoInteractions(userRoleRepository);
+    }
+
+    @Test
+    void userWithoutARoleMappingIsRejected() {
+        storedRow(STALE_HASH, true, null);
+
+        assertThrows(RoleNotFoundException.class, () -> authService.authenticate(EMAIL, PASSWORD));
+    }
+
+    @Test
+    void inactiveAccountIsRejectedBeforeThePasswordCheck() {
+        storedRow(STALE_HASH, false, "ADMIN");
+
+        assertThrows(AccountInactiveException.class, () -> authService.authenticate(EMAIL, PASSWORD));
+        verify(passwordHashingService, never()).matches(anyString(), anyString());
+    }
+
+    @Test
+    void accountWithoutAPasswordCannotUseOne() {
+        storedRow(null, true, "CUSTOMER");
+
+        assertThrows(InvalidCredentialsException.class, () -> authService.authenticate(EMAIL, PASSWORD));
+        verify(passwordHashingService, never()).matches(anyString(), any());
+    }
+
+    // =========================
+    // HASH UPGRADE ON LOGIN
+    // =========================
+    @Test
+    @SuppressWarnings("unchecked")
+    void staleHashIsReplacedAfterASuccessfulLogin() {
+        when(passwordHashingService.upgradeEncoding(STALE_HASH)).thenReturn(true);
+
+        authService.authenticate(EMAIL, PASSWORD);
+
+        ArgumentCaptor<Consumer<String>> onEncoded = ArgumentCaptor.forClass(Consumer.class);
+        verify(passwordHashingService).rehashInBackground(eq(PASSWORD), onEncoded.capture());
+        verify(userRepository, never()).updatePasswordHash(any(), anyString(), anyString());
+
+        onEncoded.getValue().accept(NEW_HASH);
+
+        // Conditional on the hash that was verified, so a concurrent password reset wins
+        verify(userRepository).updatePasswordHash(ADMIN_ID, STALE_HASH, NEW_HASH);
+        verify(userIdentityCache).invalidate(ADMIN_ID);
+    }
+
+    @Test
+    void currentHashIsLeftAlone() {
+        when(passwordHashingService.upgradeEncoding(STALE_HASH)).thenReturn(false);
+
+        authService.authenticate(EMAIL, PASSWORD);
+
+        verify(passwordHashingService, never()).rehashInBackground(anyString(), any());
+    }
+
+    @Test
+    void failedLoginNeverRehashes() {
+        when(passwordHashingService.upgradeEncoding(STALE_HASH)).thenReturn(true);
+
+        assertThrows(InvalidCredentialsException.class, () -> authService.authenticate(EMAIL, "wrong-password"));
+
+        verify(passwordHashingService, never()).rehashInBackground(anyString(), any());
+    }
+
+    // =========================
+    // HELPERS
+    // =========================
+    private void storedRow(String hash, boolean active, String roleName) {
+        when(userRepository.findAuthViewByEmail(EMAIL))
+                .thenReturn(Optional.of(new UserAuthView(ADMIN_ID, EMAIL, null, hash, active, "LOCAL", roleName)));
+    }
+}
@@ -0,0 +1,148 @@
+package com.shopping.b2c_ecommerce.service;
+
+import com.shopping.b2c_ecommerce.dto.GoogleTokenResponse;
+import com.shopping.b2c_ecommerce.dto.GoogleUserInfo;
+import com.shopping.b2c_ecommerce.dto.UserAuthView;
+import com.shopping.b2c_ecommerce.dto.UserIdentity;
+import com.shopping.b2c_ecommerce.enums.AuthProvider;
+import com.shopping.b2c_ecommerce.enums.RoleName;
+import com.shopping.b2c_ecommerce.exception.AccountInactiveException;
+import com.shopping.b2c_ecommerce.exception.InvalidCredentialsException;
+import com.shopping.b2c_ecommerce.exception.UserAlreadyExistsException;
+import com.shopping.b2c_ecommerce.repository.UserRepository;
+import com.shopping.b2c_ecommerce.repository.UserRoleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Duplicate signups: provisionUser returns empty when the email or mobile is already taken,
+ * including by a concurrent signup that passed the same existence checks a moment earlier.
+ */
+class AuthServiceSignupTest {
+
+    private static final String EMAIL = "asha@example.com";
+    private static final String MOBILE = "9876543210";
+    private static final Long WINNER_ID = 11L;
+
+    private UserService userService;
+    private GoogleOAuthService googleOAuthService;
+    private OtpService otpService;
+    private EmailOtpService emailOtpService;
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() {
+        userService = mock(UserService.class);
+        googleOAuthService = mock(GoogleOAuthService.class);
+        otpService = mock(OtpService.class);
+        emailOtpService = mock(EmailOtpService.class);
+
+        PasswordHashingService passwordHashingService = mock(PasswordHashingService.class);
+        when(passwordHashingService.encode(anyString())).thenReturn("{bcrypt}hash");
+
+        authService = new AuthService(userService, mock(UserRoleRepository.class), passwordHashingService,
+                googleOAuthService, otpService, emailOtpService, mock(UserRepository.class), mock(UserIdentityCache.class));
+
+        // Every existence check passed: the conflict only shows up in the insert
+        when(userService.provisionUser(any(), any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+    }
+
+    // =========================
+    // CONFLICT -> 409
+    // =========================
+    @Test
+    void adminRegistrationLosingTheRaceIsReportedAsExisting() {
+        assertThrows(UserAlreadyExistsException.class, () -> authService.registerAdmin(EMAIL, "secret-password"));
+
+        verify(userService).provisionUser(eq(EMAIL), isNull(), eq("{bcrypt}hash"), eq(AuthProvider.LOCAL), isNull(), eq(RoleName.ADMIN));
+    }
+
+    @Test
+    void mobileRegistrationLosingTheRaceIsReportedAsExisting() {
+        when(otpService.isOtpVerified(MOBILE)).thenReturn(true);
+
+        assertThrows(UserAlreadyExistsException.class, () -> authService.completeRegistration(MOBILE));
+
+        // The verified OTP is kept; nothing was registered with it
+        verify(otpService, never()).clearOtpState(MOBILE);
+    }
+
+    @Test
+    void emailRegistrationLosingTheRaceIsReportedAsExisting() {
+        when(emailOtpService.isOtpVerified(EMAIL)).thenReturn(true);
+
+        assertThrows(UserAlreadyExistsException.class, () -> authService.completeEmailRegistration(EMAIL));
+
+        verify(emailOtpService, never()).clearOtpState(EMAIL);
+    }
+
+    // =========================
+    // GOOGLE FIRST LOGIN RACE
+    // =========================
+    @Test
+    void googleFirstLoginLosingTheRaceLogsInAsTheWinner() {
+        googleUser();
+        when(userService.findAuthViewByEmail(EMAIL))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(winner(true)));
+
+        UserIdentity identity = authService.authenticateGoogle("code");
+
+        assertEquals(WINNER_ID, identity.getUserId());
+        assertEquals(EMAIL, identity.getEmail());
+        assertEquals(RoleName.CUSTOMER.name(), identity.getRole());
+        verify(userService, times(2)).findAuthViewByEmail(EMAIL);
+    }
+
+    @Test
+    void googleFirstLoginRaceStillChecksTheWinnerIsActive() {
+        googleUser();
+        when(userService.findAuthViewByEmail(EMAIL))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(winner(false)));
+
+        assertThrows(AccountInactiveException.class, () -> authService.authenticateGoogle("code"));
+    }
+
+    @Test
+    void googleFirstLoginRaceWithoutAWinnerIsRejected() {
+        // The conflicting row is gone again by the time it is re-read
+        googleUser();
+        when(userService.findAuthViewByEmail(EMAIL)).thenReturn(Optional.empty());
+
+        assertThrows(InvalidCredentialsException.class, () -> authService.authenticateGoogle("code"));
+    }
+
+    // =========================
+    // HELPERS
+    // =========================
+    private void googleUser() {
+        GoogleTokenResponse token = new GoogleTokenResponse();
+        token.setAccessToken("access-token");
+
+        GoogleUserInfo userInfo = new GoogleUserInfo();
+        userInfo.setId("google-sub");
+        userInfo.setEmail(EMAIL);
+
+        when(googleOAuthService.getToken("code")).thenReturn(token);
+        when(googleOAuthService.getUserInfo("access-token")).thenReturn(userInfo);
+    }
+
+    private static UserAuthView winner(boolean active) {
+        return new UserAuthView(WINNER_ID, EMAIL, null, null, active, AuthProvider.GOOGLE.name(), RoleName.CUSTOMER.name());
+    }
+}
@@ -0,0 +1,270 @@
+package com.shopping.b2c_ecommerce.service;
+
+import com.shopping.b2c_ecommerce.dto.AdminBulkResult;
+import com.shopping.b2c_ecommerce.dto.UserAuthView;
+import com.shopping.b2c_ecommerce.entity.PasswordResetToken;
+import com.shopping.b2c_ecommerce.entity.Role;
+import com.shopping.b2c_ecommerce.entity.User;
+import com.shopping.b2c_ecommerce.entity.UserRole;
+import com.shopping.b2c_ecommerce.enums.AdminBulkOutcome;
+import com.shopping.b2c_ecommerce.enums.RoleName;
+import com.shopping.b2c_ecommerce.exception.AccountInactiveException;
+import com.shopping.b2c_ecommerce.exception.InvalidCredentialsException;
+import com.shopping.b2c_ecommerce.exception.UnauthorizedAdminActionException;
+import com.shopping.b2c_ecommerce.exception.UserNotFoundException;
+import com.shopping.b2c_ecommerce.repository.PasswordResetTokenRepository;
+import com.shopping.b2c_ecommerce.repository.UserRepository;
+import com.shopping.b2c_ecommerce.repository.UserRoleRepository;
+import com.shopping.b2c_ecommerce.security.OtpDigester;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Deactivation, password reset and delete must take effect for logins at once, on every node.
+ *
+ * The identity cache is per node, so "another node" is simulated by changing the row in the
+ * (mocked) database without touching this node's cache.
+ */
+class AuthServiceTest {
+
+    private static final Long ADMIN_ID = 5L;
+    private static final Long ADMIN_ROLE_ID = 2L;
+    private static final String EMAIL = "admin@example.com";
+    private static final String PASSWORD = "old-password";
+    private static final String OLD_HASH = "{bcrypt}old";
+    private static final String NEW_HASH = "{bcrypt}new";
+
+    private UserRepository userRepository;
+    private UserRoleRepository userRoleRepository;
+    private PasswordHashingService passwordHashingService;
+    private UserIdentityCache userIdentityCache;
+    private UserService userService;
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        userRoleRepository = mock(UserRoleRepository.class);
+        passwordHashingService = mock(PasswordHashingService.class);
+
+        RoleService roleService = mock(RoleService.class);
+        when(roleService.getRoleId(RoleName.ADMIN)).thenReturn(ADMIN_ROLE_ID);
+
+        userIdentityCache = spy(new UserIdentityCache(userRepository, new SimpleMeterRegistry(), 100, 300));
+
+        userService = new UserService(userRepository, userRoleRepository, userIdentityCache,
+                roleService, mock(PlatformTransactionManager.class));
+
+        authService = new AuthService(userService, userRoleRepository, passwordHashingService,
+                mock(GoogleOAuthService.class), mock(OtpService.class), mock(EmailOtpService.class),
+                userRepository, userIdentityCache);
+
+        when(passwordHashingService.matches(PASSWORD, OLD_HASH)).thenReturn(true);
+
+        // A first, successful login warms this node's cache
+        storedRow(Optional.of(admin(true, OLD_HASH)));
+        authService.authenticate(EMAIL, PASSWORD);
+        userService.existsByEmail(EMAIL);
+    }
+
+    // =========================
+    // CHANGED ON ANOTHER NODE
+    // =========================
+    @Test
+    void adminDeactivatedElsewhereCannotLogIn() {
+        storedRow(Optional.of(admin(false, OLD_HASH)));
+
+        assertThrows(AccountInactiveException.class, () -> authService.authenticate(EMAIL, PASSWORD));
+    }
+
+    @Test
+    void oldPasswordStopsWorkingAfterAResetElsewhere() {
+        storedRow(Optional.of(admin(true, NEW_HASH)));
+
+        assertThrows(InvalidCredentialsException.class, () -> authService.authenticate(EMAIL, PASSWORD));
+    }
+
+    @Test
+    void adminDeletedElsewhereCannotLogIn() {
+        storedRow(Optional.empty());
+
+        assertThrows(InvalidCredentialsException.class, () -> authService.authenticate(EMAIL, PASSWORD));
+    }
+
+    // =========================
+    // CHANGED ON THIS NODE
+    // =========================
+    @Test
+    void statusChangeInvalidatesTheIdentity() {
+        User user = user();
+        when(userRepository.findById(ADMIN_ID)).thenReturn(Optional.of(user));
+        when(userRoleRepository.findByUser(user)).thenReturn(Optional.of(userRole(user, RoleName.ADMIN)));
+
+        userService.changeAdminStatus(ADMIN_ID, false);
+
+        verify(userIdentityCache).invalidate(ADMIN_ID);
+    }
+
+    @Test
+    void bulkStatusChangeInvalidatesEveryUpdatedIdentity() {
+        when(userRepository.updateAdminsActive(eq(List.of(ADMIN_ID)), eq(false), any(LocalDateTime.class), eq(ADMIN_ROLE_ID)))
+                .thenReturn(List.of(ADMIN_ID));
+
+        userService.changeAdminStatuses(List.of(ADMIN_ID), false);
+
+        verify(userIdentityCache).invalidate(ADMIN_ID);
+    }
+
+    @Test
+    void hardDeleteInvalidatesTheIdentity() {
+        when(userRepository.existsById(ADMIN_ID)).thenReturn(true);
+        when(userRoleRepository.existsByUserIdAndRoleName(ADMIN_ID, RoleName.SUPER_ADMIN.name())).thenReturn(false);
+        when(userRoleRepository.existsByUserIdAndRoleName(ADMIN_ID, RoleName.ADMIN.name())).thenReturn(true);
+        when(userRepository.deleteAdmins(List.of(ADMIN_ID), ADMIN_ROLE_ID)).thenReturn(List.of(ADMIN_ID));
+
+        authService.hardDeleteAdmin(ADMIN_ID);
+
+        verify(userIdentityCache).invalidate(ADMIN_ID);
+
+        when(userRepository.findAuthViewByEmail(EMAIL)).thenReturn(Optional.empty());
+        when(userRepository.findAuthViewById(ADMIN_ID)).thenReturn(Optional.empty());
+        assertThrows(InvalidCredentialsException.class, () -> authService.authenticate(EMAIL, PASSWORD));
+        assertEquals(Optional.empty(), userIdentityCache.findById(ADMIN_ID));
+    }
+
+    @Test
+    void passwordResetInvalidatesTheIdentity() {
+        User user = user();
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+        when(userRoleRepository.findByUser(user)).thenReturn(Optional.of(userRole(user, RoleName.ADMIN)));
+
+        PasswordResetToken token = new PasswordResetToken();
+        token.setUser(user);
+        token.setOtpHash("{hmac}digest");
+        token.setExpiresAt(LocalDateTime.now().plusMinutes(5));
+
+        PasswordResetTokenRepository tokenRepository = mock(PasswordResetTokenRepository.class);
+        when(tokenRepository.findTopByUserOrderByCreatedAtDesc(user)).thenReturn(Optional.of(token));
+
+        OtpDigester otpDigester = mock(OtpDigester.class);
+        when(otpDigester.isDigest("{hmac}digest")).thenReturn(true);
+        when(otpDigester.matches("123456", "{hmac}digest")).thenReturn(true);
+        when(passwordHashingService.encode(anyString())).thenReturn(NEW_HASH);
+
+        PasswordResetService passwordResetService = new PasswordResetService(userRepository, tokenRepository,
+                passwordHashingService, otpDigester, userIdentityCache, mock(EmailService.class), userRoleRepository);
+
+        passwordResetService.adminResetPassword(EMAIL, "123456", "new-password", "new-password");
+
+        verify(userIdentityCache).invalidate(ADMIN_ID);
+
+        storedRow(Optional.of(admin(true, NEW_HASH)));
+        assertThrows(InvalidCredentialsException.class, () -> authService.authenticate(EMAIL, PASSWORD));
+    }
+
+    // =========================
+    // HARD DELETE
+    // =========================
+    @Test
+    void bulkDeleteClassifiesEveryKindOfId() {
+        // 5 ADMIN, 6 SUPER_ADMIN, 7 CUSTOMER, 8 unknown
+        when(userRepository.deleteAdmins(List.of(ADMIN_ID, 6L, 7L, 8L), ADMIN_ROLE_ID)).thenReturn(List.of(ADMIN_ID));
+        when(userRepository.findAuthViewsByIdIn(List.of(6L, 7L, 8L))).thenReturn(List.of(
+                new UserAuthView(6L, "super@example.com", null, OLD_HASH, true, "LOCAL", RoleName.SUPER_ADMIN.name()),
+                new UserAuthView(7L, null, "9876543210", null, true, "OTP", RoleName.CUSTOMER.name())));
+
+        List<AdminBulkResult> results = authService.hardDeleteAdmins(Arrays.asList(ADMIN_ID, 6L, null, 7L, ADMIN_ID, 8L));
+
+        assertEquals(List.of(
+                new AdminBulkResult(ADMIN_ID, AdminBulkOutcome.DELETED),
+                new AdminBulkResult(6L, AdminBulkOutcome.NOT_ADMIN),
+                new AdminBulkResult(7L, AdminBulkOutcome.NOT_ADMIN),
+                new AdminBulkResult(8L, AdminBulkOutcome.NOT_FOUND)), results);
+
+        verify(userIdentityCache).invalidate(ADMIN_ID);
+        verify(userIdentityCache, never()).invalidate(6L);
+    }
+
+    @Test
+    void singleHardDeleteUsesTheGuardedStatement() {
+        when(userRepository.existsById(ADMIN_ID)).thenReturn(true);
+        when(userRoleRepository.existsByUserIdAndRoleName(ADMIN_ID, RoleName.ADMIN.name())).thenReturn(true);
+        when(userRepository.deleteAdmins(List.of(ADMIN_ID), ADMIN_ROLE_ID)).thenReturn(List.of(ADMIN_ID));
+
+        authService.hardDeleteAdmin(ADMIN_ID);
+
+        // Reset tokens and the role mapping go in the same statement as the user row
+        verify(userRepository).deleteAdmins(List.of(ADMIN_ID), ADMIN_ROLE_ID);
+        verify(userRepository, never()).deleteById(any());
+    }
+
+    @Test
+    void singleHardDeleteOfARoleChangedMeanwhileIsRefused() {
+        when(userRepository.existsById(ADMIN_ID)).thenReturn(true);
+        when(userRoleRepository.existsByUserIdAndRoleName(ADMIN_ID, RoleName.ADMIN.name())).thenReturn(true);
+        when(userRepository.deleteAdmins(List.of(ADMIN_ID), ADMIN_ROLE_ID)).thenReturn(List.of());
+
+        assertThrows(UnauthorizedAdminActionException.class, () -> authService.hardDeleteAdmin(ADMIN_ID));
+        verify(userIdentityCache, never()).invalidate(ADMIN_ID);
+    }
+
+    @Test
+    void singleHardDeleteRefusesSuperAdminsAndUnknownIds() {
+        when(userRepository.existsById(6L)).thenReturn(true);
+        when(userRoleRepository.existsByUserIdAndRoleName(6L, RoleName.SUPER_ADMIN.name())).thenReturn(true);
+
+        assertThrows(UnauthorizedAdminActionException.class, () -> authService.hardDeleteAdmin(6L));
+        assertThrows(UserNotFoundException.class, () -> authService.hardDeleteAdmin(8L));
+        verify(userRepository, never()).deleteAdmins(any(), any());
+    }
+
+    // =========================
+    // HELPERS
+    // =========================
+    private void storedRow(Optional<UserAuthView> row) {
+        when(userRepository.findAuthViewByEmail(EMAIL)).thenReturn(row);
+    }
+
+    private static UserAuthView admin(boolean active, String hash) {
+        return new UserAuthView(ADMIN_ID, EMAIL, null, hash, active, "LOCAL", RoleName.ADMIN.name());
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setId(ADMIN_ID);
+        user.setEmail(EMAIL);
+        user.setPassword(OLD_HASH);
+        user.setActive(true);
+        user.setProvider("LOCAL");
+        return user;
+    }
+
+    private static UserRole userRole(User user, RoleName roleName) {
+        Role role = new Role();
+        role.setId(ADMIN_ROLE_ID);
+        role.setName(roleName.name());
+
+        UserRole userRole = new UserRole();
+        userRole.setUser(user);
+        userRole.setRole(role);
+        return userRole;
+    }
+}
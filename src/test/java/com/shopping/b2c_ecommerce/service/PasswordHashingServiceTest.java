@@ -0,0 +1,192 @@
+package com.shopping.b2c_ecommerce.service;
+
+import com.shopping.b2c_ecommerce.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Admission control: hashing runs on its own pool, and a full queue or a slow task is turned
+ * into PasswordHashingUnavailableException (503 + Retry-After) instead of holding the caller.
+ */
+class PasswordHashingServiceTest {
+
+    private static final int RETRY_AFTER_SECONDS = 3;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PasswordHashingService service;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void encodeAndMatchesRunOnTheHashingPool() {
+        AtomicReference<String> thread = new AtomicReference<>();
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.encode(anyString())).thenAnswer(inv -> {
+            thread.set(Thread.currentThread().getName());
+            return bcrypt.encode(inv.getArgument(0));
+        });
+        when(encoder.matches(anyString(), anyString()))
+                .thenAnswer(inv -> bcrypt.matches(inv.getArgument(0), inv.getArgument(1)));
+        service = service(encoder, 1, 4, 5_000);
+
+        String hash = service.encode("secret-password");
+
+        assertTrue(thread.get().startsWith("password-hash-"));
+        assertTrue(service.matches("secret-password", hash));
+        assertFalse(service.matches("wrong-password", hash));
+    }
+
+    @Test
+    void fullQueueIsRejectedWithoutWaiting() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        service = service(blockingEncoder(started), 1, 1, 5_000);
+
+        Thread running = submitInBackground();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Thread queued = submitInBackground();
+        awaitQueueDepth(1);
+
+        PasswordHashingUnavailableException ex = assertThrows(PasswordHashingUnavailableException.class,
+                () -> service.encode("third"));
+
+        assertEquals(RETRY_AFTER_SECONDS, ex.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+
+        release.countDown();
+        running.join(5_000);
+        queued.join(5_000);
+    }
+
+    @Test
+    void taskThatOutlivesTheTimeoutIsRejected() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        service = service(blockingEncoder(started), 1, 4, 50);
+
+        PasswordHashingUnavailableException ex = assertThrows(PasswordHashingUnavailableException.class,
+                () -> service.encode("slow"));
+
+        assertEquals(RETRY_AFTER_SECONDS, ex.getRetryAfterSeconds());
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+    }
+
+    @Test
+    void encoderFailuresReachTheCallerUnchanged() {
+        IllegalArgumentException failure = new IllegalArgumentException("bad hash");
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.matches(anyString(), anyString())).thenThrow(failure);
+        service = service(encoder, 1, 4, 5_000);
+
+        assertSame(failure, assertThrows(IllegalArgumentException.class, () -> service.matches("raw", "hash")));
+        assertEquals(0.0, meterRegistry.get("password.hashing.rejected").counter().count());
+    }
+
+    @Test
+    void upgradeEncodingAsksTheEncoderAndIgnoresMissingHashes() {
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.upgradeEncoding("{bcrypt}$2a$04$stale")).thenReturn(true);
+        service = service(encoder, 1, 4, 5_000);
+
+        assertTrue(service.upgradeEncoding("{bcrypt}$2a$04$stale"));
+        assertFalse(service.upgradeEncoding("{bcrypt}$2a$12$current"));
+        assertFalse(service.upgradeEncoding(null));
+    }
+
+    @Test
+    void backgroundRehashHandsTheNewHashToTheCallback() throws Exception {
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+        service = service(bcrypt, 1, 4, 5_000);
+        CompletableFuture<String> rehashed = new CompletableFuture<>();
+
+        service.rehashInBackground("secret-password", rehashed::complete);
+
+        assertTrue(bcrypt.matches("secret-password", rehashed.get(5, TimeUnit.SECONDS)));
+    }
+
+    @Test
+    void backgroundRehashIsSkippedWhileThePoolIsBusy() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder encoder = blockingEncoder(started);
+        service = service(encoder, 1, 2, 5_000);
+
+        Thread running = submitInBackground();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Thread first = submitInBackground();
+        Thread second = submitInBackground();
+        awaitQueueDepth(2);
+
+        AtomicBoolean called = new AtomicBoolean();
+        service.rehashInBackground("secret-password", hash -> called.set(true));
+
+        release.countDown();
+        running.join(5_000);
+        first.join(5_000);
+        second.join(5_000);
+
+        // Only the three login-path tasks ever reached the encoder
+        verify(encoder, times(3)).encode(anyString());
+        assertFalse(called.get());
+    }
+
+    // =========================
+    // HELPERS
+    // =========================
+
+    private PasswordHashingService service(PasswordEncoder encoder, int poolSize, int queueCapacity, long timeoutMillis) {
+        return new PasswordHashingService(encoder, meterRegistry, poolSize, queueCapacity, timeoutMillis,
+                RETRY_AFTER_SECONDS);
+    }
+
+    // Holds the worker until the test releases it
+    private PasswordEncoder blockingEncoder(CountDownLatch started) {
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.encode(anyString())).thenAnswer(inv -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "{bcrypt}" + inv.getArgument(0);
+        });
+        return encoder;
+    }
+
+    private Thread submitInBackground() {
+        Thread thread = new Thread(() -> service.encode("background"));
+        thread.start();
+        return thread;
+    }
+
+    private void awaitQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("password.hashing.queue.depth").gauge().value() < depth) {
+            assertTrue(System.nanoTime() < deadline, "task never queued");
+            Thread.sleep(5);
+        }
+    }
+}
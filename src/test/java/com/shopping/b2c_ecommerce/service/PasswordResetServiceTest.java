@@ -0,0 +1,148 @@
+package com.shopping.b2c_ecommerce.service;
+
+import com.shopping.b2c_ecommerce.entity.PasswordResetToken;
+import com.shopping.b2c_ecommerce.entity.Role;
+import com.shopping.b2c_ecommerce.entity.User;
+import com.shopping.b2c_ecommerce.entity.UserRole;
+import com.shopping.b2c_ecommerce.exception.PasswordResetTokenInvalidException;
+import com.shopping.b2c_ecommerce.repository.PasswordResetTokenRepository;
+import com.shopping.b2c_ecommerce.repository.UserRepository;
+import com.shopping.b2c_ecommerce.repository.UserRoleRepository;
+import com.shopping.b2c_ecommerce.security.OtpDigester;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reset OTPs are stored as HMAC digests; rows still holding a BCrypt hash keep working until
+ * they expire.
+ */
+class PasswordResetServiceTest {
+
+    private static final String EMAIL = "admin@example.com";
+    private static final String OTP = "A1B2C3";
+    private static final String NEW_PASSWORD = "new-password";
+
+    private UserRepository userRepository;
+    private PasswordResetTokenRepository tokenRepository;
+    private PasswordHashingService passwordHashingService;
+    private EmailService emailService;
+    private OtpDigester otpDigester;
+    private UserIdentityCache userIdentityCache;
+    private PasswordResetService passwordResetService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        tokenRepository = mock(PasswordResetTokenRepository.class);
+        passwordHashingService = mock(PasswordHashingService.class);
+        emailService = mock(EmailService.class);
+        UserRoleRepository userRoleRepository = mock(UserRoleRepository.class);
+        otpDigester = new OtpDigester("", "test-secret-key-that-is-at-least-32-bytes-long!!");
+        userIdentityCache = mock(UserIdentityCache.class);
+
+        passwordResetService = new PasswordResetService(userRepository, tokenRepository, passwordHashingService,
+                otpDigester, userIdentityCache, emailService, userRoleRepository);
+
+        user = new User();
+        user.setId(5L);
+        user.setEmail(EMAIL);
+        user.setPassword("{bcrypt}old");
+
+        Role role = new Role();
+        role.setName("ADMIN");
+        UserRole userRole = new UserRole();
+        userRole.setUser(user);
+        userRole.setRole(role);
+
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+        when(userRoleRepository.findByUser(user)).thenReturn(Optional.of(userRole));
+        when(passwordHashingService.encode(NEW_PASSWORD)).thenReturn("{bcrypt}new");
+    }
+
+    @Test
+    void forgotPasswordStoresADigestOfTheMailedOtp() {
+        passwordResetService.adminForgotPassword(EMAIL);
+
+        ArgumentCaptor<String> mailed = ArgumentCaptor.forClass(String.class);
+        verify(emailService).sendOtpEmail(eq(EMAIL), mailed.capture());
+        ArgumentCaptor<PasswordResetToken> saved = ArgumentCaptor.forClass(PasswordResetToken.class);
+        verify(tokenRepository).save(saved.capture());
+
+        assertEquals(otpDigester.digest(mailed.getValue()), saved.getValue().getOtpHash());
+        // Issuing an OTP no longer costs a BCrypt round
+        verifyNoInteractions(passwordHashingService);
+    }
+
+    @Test
+    void digestRowIsCheckedWithoutTheHashingPool() {
+        PasswordResetToken token = latestToken(otpDigester.digest(OTP));
+
+        passwordResetService.adminResetPassword(EMAIL, OTP, NEW_PASSWORD, NEW_PASSWORD);
+
+        assertTrue(token.isUsed());
+        assertEquals("{bcrypt}new", user.getPassword());
+        verify(passwordHashingService, never()).matches(anyString(), anyString());
+        // The old password stops working for cached logins too
+        verify(userIdentityCache).invalidate(5L);
+    }
+
+    @Test
+    void wrongOtpAgainstADigestRowIsRejected() {
+        PasswordResetToken token = latestToken(otpDigester.digest(OTP));
+
+        assertThrows(PasswordResetTokenInvalidException.class,
+                () -> passwordResetService.adminResetPassword(EMAIL, "ZZZZZZ", NEW_PASSWORD, NEW_PASSWORD));
+
+        assertFalse(token.isUsed());
+        assertEquals("{bcrypt}old", user.getPassword());
+        verifyNoInteractions(userIdentityCache);
+    }
+
+    @Test
+    void legacyBcryptRowIsStillAccepted() {
+        String legacyHash = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3gPS2rVQNqQWdm5JfGvCq6W";
+        PasswordResetToken token = latestToken(legacyHash);
+        when(passwordHashingService.matches(OTP, legacyHash)).thenReturn(true);
+
+        passwordResetService.adminResetPassword(EMAIL, OTP, NEW_PASSWORD, NEW_PASSWORD);
+
+        assertTrue(token.isUsed());
+        assertEquals("{bcrypt}new", user.getPassword());
+    }
+
+    @Test
+    void legacyBcryptRowWithAWrongOtpIsRejected() {
+        String legacyHash = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3gPS2rVQNqQWdm5JfGvCq6W";
+        latestToken(legacyHash);
+        when(passwordHashingService.matches(OTP, legacyHash)).thenReturn(false);
+
+        assertThrows(PasswordResetTokenInvalidException.class,
+                () -> passwordResetService.adminResetPassword(EMAIL, OTP, NEW_PASSWORD, NEW_PASSWORD));
+    }
+
+    private PasswordResetToken latestToken(String otpHash) {
+        PasswordResetToken token = new PasswordResetToken();
+        token.setUser(user);
+        token.setOtpHash(otpHash);
+        token.setExpiresAt(LocalDateTime.now().plusMinutes(15));
+        when(tokenRepository.findTopByUserOrderByCreatedAtDesc(user)).thenReturn(Optional.of(token));
+        return token;
+    }
+}
@@ -0,0 +1,132 @@
+package com.shopping.b2c_ecommerce.service;
+
+import com.shopping.b2c_ecommerce.repository.PasswordResetTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PasswordResetTokenPurgeJobTest {
+
+    private static final int BATCH_SIZE = 2;
+    private static final int MAX_BATCHES = 3;
+
+    private PasswordResetTokenRepository tokenRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordResetTokenPurgeJob job;
+
+    @BeforeEach
+    void setUp() {
+        tokenRepository = mock(PasswordResetTokenRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        job = new PasswordResetTokenPurgeJob(tokenRepository, mock(PlatformTransactionManager.class),
+                meterRegistry, BATCH_SIZE, MAX_BATCHES);
+
+        when(tokenRepository.tryAdvisoryXactLock(anyLong())).thenReturn(true);
+    }
+
+    // =========================
+    // BATCH LIMITS
+    // =========================
+    @Test
+    void fullBatchesContinueUpToMaxBatchesPerPass() {
+        when(tokenRepository.deleteExpiredBatch(any(LocalDateTime.class), anyInt())).thenReturn(BATCH_SIZE);
+        when(tokenRepository.deleteSupersededBatch(any(LocalDateTime.class), anyInt())).thenReturn(BATCH_SIZE);
+
+        job.purge();
+
+        verify(tokenRepository, times(MAX_BATCHES)).deleteExpiredBatch(any(LocalDateTime.class), anyInt());
+        verify(tokenRepository, times(MAX_BATCHES)).deleteSupersededBatch(any(LocalDateTime.class), anyInt());
+        assertEquals(12.0, deleted());
+        assertEquals(1.0, runs("completed"));
+    }
+
+    @Test
+    void shortBatchEndsThePass() {
+        when(tokenRepository.deleteExpiredBatch(any(LocalDateTime.class), anyInt())).thenReturn(BATCH_SIZE, 1);
+        when(tokenRepository.deleteSupersededBatch(any(LocalDateTime.class), anyInt())).thenReturn(0);
+
+        job.purge();
+
+        verify(tokenRepository, times(2)).deleteExpiredBatch(any(LocalDateTime.class), anyInt());
+        verify(tokenRepository, times(1)).deleteSupersededBatch(any(LocalDateTime.class), anyInt());
+        assertEquals(3.0, deleted());
+        assertEquals(1.0, runs("completed"));
+    }
+
+    // =========================
+    // LOCK MISSES
+    // =========================
+    @Test
+    void lockHeldElsewhereSkipsTheRun() {
+        when(tokenRepository.tryAdvisoryXactLock(anyLong())).thenReturn(false);
+
+        job.purge();
+
+        verify(tokenRepository, never()).deleteExpiredBatch(any(LocalDateTime.class), anyInt());
+        verify(tokenRepository, never()).deleteSupersededBatch(any(LocalDateTime.class), anyInt());
+        assertEquals(1.0, runs("skipped"));
+        assertEquals(0.0, runs("completed"));
+    }
+
+    @Test
+    void lockLostAfterDeletingCountsAsInterrupted() {
+        when(tokenRepository.tryAdvisoryXactLock(anyLong())).thenReturn(true, false);
+        when(tokenRepository.deleteExpiredBatch(any(LocalDateTime.class), anyInt())).thenReturn(BATCH_SIZE);
+
+        job.purge();
+
+        // The superseded pass is left to the node holding the lock
+        verify(tokenRepository, times(1)).deleteExpiredBatch(any(LocalDateTime.class), anyInt());
+        verify(tokenRepository, never()).deleteSupersededBatch(any(LocalDateTime.class), anyInt());
+        assertEquals(2.0, deleted());
+        assertEquals(1.0, runs("interrupted"));
+        assertEquals(0.0, runs("skipped"));
+    }
+
+    @Test
+    void lockLostInTheSupersededPassCountsAsInterrupted() {
+        when(tokenRepository.tryAdvisoryXactLock(anyLong())).thenReturn(true, false);
+        when(tokenRepository.deleteExpiredBatch(any(LocalDateTime.class), anyInt())).thenReturn(1);
+
+        job.purge();
+
+        assertEquals(1.0, deleted());
+        assertEquals(1.0, runs("interrupted"));
+    }
+
+    @Test
+    void lockLostBeforeAnythingWasDeletedCountsAsSkipped() {
+        when(tokenRepository.tryAdvisoryXactLock(anyLong())).thenReturn(true, false);
+        when(tokenRepository.deleteExpiredBatch(any(LocalDateTime.class), anyInt())).thenReturn(0);
+
+        job.purge();
+
+        assertEquals(1.0, runs("skipped"));
+        assertEquals(0.0, runs("interrupted"));
+    }
+
+    // =========================
+    // HELPERS
+    // =========================
+    private double deleted() {
+        return meterRegistry.get("password-reset.purge.deleted").counter().count();
+    }
+
+    private double runs(String outcome) {
+        return meterRegistry.get("password-reset.purge.runs").tag("outcome", outcome).counter().count();
+    }
+}
@@ -0,0 +1,84 @@
+package com.shopping.b2c_ecommerce.service;
+
+import com.shopping.b2c_ecommerce.entity.Role;
+import com.shopping.b2c_ecommerce.enums.RoleName;
+import com.shopping.b2c_ecommerce.exception.RoleNotFoundException;
+import com.shopping.b2c_ecommerce.repository.RoleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RoleServiceTest {
+
+    private RoleRepository roleRepository;
+    private RoleService roleService;
+
+    @BeforeEach
+    void setUp() {
+        roleRepository = mock(RoleRepository.class);
+        roleService = new RoleService(roleRepository);
+    }
+
+    @Test
+    void rolesAreServedFromTheRegistryWithoutFurtherQueries() {
+        Role admin = role(2L, "ADMIN");
+        when(roleRepository.findAll()).thenReturn(List.of(role(1L, "SUPER_ADMIN"), admin, role(3L, "CUSTOMER")));
+        roleService.init();
+
+        assertSame(admin, roleService.getRole(RoleName.ADMIN));
+        assertEquals(3L, roleService.getRoleId(RoleName.CUSTOMER));
+        assertEquals(1L, roleService.getRoleId(RoleName.SUPER_ADMIN));
+
+        verify(roleRepository, times(1)).findAll();
+    }
+
+    @Test
+    void unknownRowsAreIgnoredAndMissingRolesFailOnLookup() {
+        when(roleRepository.findAll()).thenReturn(List.of(role(2L, "ADMIN"), role(9L, "AUDITOR")));
+        roleService.init();
+
+        assertEquals(Map.of(RoleName.ADMIN, 2L), roleService.roleIds());
+        assertThrows(RoleNotFoundException.class, () -> roleService.getRole(RoleName.CUSTOMER));
+    }
+
+    @Test
+    void refreshSwapsInTheCurrentTable() {
+        when(roleRepository.findAll())
+                .thenReturn(List.of(role(2L, "ADMIN")))
+                .thenReturn(List.of(role(2L, "ADMIN"), role(3L, "CUSTOMER")));
+        roleService.init();
+        assertThrows(RoleNotFoundException.class, () -> roleService.getRoleId(RoleName.CUSTOMER));
+
+        Map<RoleName, Long> reloaded = roleService.refresh();
+
+        assertEquals(Map.of(RoleName.ADMIN, 2L, RoleName.CUSTOMER, 3L), reloaded);
+        assertEquals(3L, roleService.getRoleId(RoleName.CUSTOMER));
+    }
+
+    @Test
+    void roleIdsIsACopy() {
+        when(roleRepository.findAll()).thenReturn(List.of(role(2L, "ADMIN")));
+        roleService.init();
+
+        roleService.roleIds().clear();
+
+        assertEquals(2L, roleService.getRoleId(RoleName.ADMIN));
+    }
+
+    private static Role role(Long id, String name) {
+        Role role = new Role();
+        role.setId(id);
+        role.setName(name);
+        return role;
+    }
+}
@@ -0,0 +1,107 @@
+package com.shopping.b2c_ecommerce.service;
+
+import com.shopping.b2c_ecommerce.dto.UserAuthView;
+import com.shopping.b2c_ecommerce.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserIdentityCacheTest {
+
+    private UserRepository userRepository;
+    private UserIdentityCache cache;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        cache = new UserIdentityCache(userRepository, new SimpleMeterRegistry(), 100, 300);
+    }
+
+    @Test
+    void cachedEntriesNeverHoldThePasswordHash() {
+        when(userRepository.findAuthViewByEmail("a@example.com"))
+                .thenReturn(Optional.of(view(1L, "a@example.com", "9000000001", true)));
+
+        assertNull(cache.findByEmail("a@example.com").orElseThrow().getPassword());
+        assertNull(cache.findById(1L).orElseThrow().getPassword());
+    }
+
+    @Test
+    void secondLookupIsServedFromTheCache() {
+        when(userRepository.findAuthViewByEmail("a@example.com"))
+                .thenReturn(Optional.of(view(1L, "a@example.com", "9000000001", true)));
+
+        cache.findByEmail("a@example.com");
+        cache.findByEmail("a@example.com");
+
+        verify(userRepository, times(1)).findAuthViewByEmail("a@example.com");
+    }
+
+    @Test
+    void invalidateDropsEveryRouteToTheUser() {
+        when(userRepository.findAuthViewByEmail("a@example.com"))
+                .thenReturn(Optional.of(view(1L, "a@example.com", "9000000001", true)));
+        when(userRepository.findAuthViewByMobileNumber("9000000001"))
+                .thenReturn(Optional.of(view(1L, "a@example.com", "9000000001", true)));
+
+        cache.findByEmail("a@example.com");
+        cache.findByMobileNumber("9000000001");
+
+        // The row changes, e.g. the admin is deactivated
+        when(userRepository.findAuthViewByEmail("a@example.com"))
+                .thenReturn(Optional.of(view(1L, "a@example.com", "9000000001", false)));
+        when(userRepository.findAuthViewByMobileNumber("9000000001"))
+                .thenReturn(Optional.of(view(1L, "a@example.com", "9000000001", false)));
+        cache.invalidate(1L);
+
+        assertFalse(cache.findByEmail("a@example.com").orElseThrow().getActive());
+        assertFalse(cache.findByMobileNumber("9000000001").orElseThrow().getActive());
+        verify(userRepository, times(2)).findAuthViewByEmail("a@example.com");
+        verify(userRepository, times(2)).findAuthViewByMobileNumber("9000000001");
+    }
+
+    @Test
+    void deletedUserIsNotServedAfterInvalidation() {
+        when(userRepository.findAuthViewByEmail("a@example.com"))
+                .thenReturn(Optional.of(view(1L, "a@example.com", null, true)));
+        cache.findByEmail("a@example.com");
+
+        when(userRepository.findAuthViewByEmail("a@example.com")).thenReturn(Optional.empty());
+        cache.invalidate(1L);
+
+        assertTrue(cache.findByEmail("a@example.com").isEmpty());
+    }
+
+    @Test
+    void bulkLookupLoadsOnlyTheMissesInOneQuery() {
+        when(userRepository.findAuthViewById(1L))
+                .thenReturn(Optional.of(view(1L, "a@example.com", null, true)));
+        cache.findById(1L);
+
+        when(userRepository.findAuthViewsByIdIn(List.of(2L, 3L)))
+                .thenReturn(List.of(view(2L, "b@example.com", null, true)));
+
+        Map<Long, UserAuthView> found = cache.findAllById(List.of(1L, 2L, 3L));
+
+        assertEquals(2, found.size());
+        assertNull(found.get(2L).getPassword());
+        verify(userRepository, times(1)).findAuthViewsByIdIn(List.of(2L, 3L));
+    }
+
+    private static UserAuthView view(Long id, String email, String mobile, boolean active) {
+        return new UserAuthView(id, email, mobile, "{bcrypt}hash", active, "LOCAL", "ADMIN");
+    }
+}
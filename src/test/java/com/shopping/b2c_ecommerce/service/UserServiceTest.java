@@ -0,0 +1,188 @@
+package com.shopping.b2c_ecommerce.service;
+
+import com.shopping.b2c_ecommerce.dto.AdminBulkResult;
+import com.shopping.b2c_ecommerce.dto.AdminSummaryResponse;
+import com.shopping.b2c_ecommerce.dto.UserAuthView;
+import com.shopping.b2c_ecommerce.dto.UserLookupResponse;
+import com.shopping.b2c_ecommerce.enums.AdminBulkOutcome;
+import com.shopping.b2c_ecommerce.enums.RoleName;
+import com.shopping.b2c_ecommerce.repository.UserRepository;
+import com.shopping.b2c_ecommerce.repository.UserRoleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceTest {
+
+    private static final Long ADMIN_ROLE_ID = 2L;
+
+    private UserRepository userRepository;
+    private PlatformTransactionManager transactionManager;
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+
+        RoleService roleService = mock(RoleService.class);
+        when(roleService.getRoleId(RoleName.ADMIN)).thenReturn(ADMIN_ROLE_ID);
+
+        UserIdentityCache userIdentityCache = new UserIdentityCache(userRepository, new SimpleMeterRegistry(), 100, 300);
+
+        userService = new UserService(userRepository, mock(UserRoleRepository.class), userIdentityCache,
+                roleService, transactionManager);
+    }
+
+    // =========================
+    // ADMIN LISTING
+    // =========================
+    @Test
+    void firstPageStartsBeforeTheSmallestId() {
+        List<AdminSummaryResponse> page = List.of(admin(3L), admin(8L));
+        when(userRepository.findAdminsAfter(ADMIN_ROLE_ID, 0L, null, Limit.of(2))).thenReturn(page);
+
+        assertEquals(page, userService.getAdminsPage(null, 2, null));
+    }
+
+    @Test
+    void laterPagesContinueAfterTheCursor() {
+        List<AdminSummaryResponse> page = List.of(admin(9L));
+        when(userRepository.findAdminsAfter(ADMIN_ROLE_ID, 8L, true, Limit.of(2))).thenReturn(page);
+
+        assertEquals(page, userService.getAdminsPage(8L, 2, true));
+    }
+
+    @Test
+    void exportStreamsInsideAReadOnlyTransaction() {
+        when(userRepository.streamAdmins(ADMIN_ROLE_ID, false)).thenReturn(Stream.of(admin(3L), admin(8L)));
+        List<Long> written = new ArrayList<>();
+
+        long count = userService.streamAdmins(false, admin -> written.add(admin.getId()));
+
+        assertEquals(2, count);
+        assertEquals(List.of(3L, 8L), written);
+
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertTrue(definition.getValue().isReadOnly());
+    }
+
+    @Test
+    void exportClosesTheCursor() {
+        List<String> closed = new ArrayList<>();
+        when(userRepository.streamAdmins(ADMIN_ROLE_ID, null))
+                .thenReturn(Stream.of(admin(3L)).onClose(() -> closed.add("closed")));
+
+        userService.streamAdmins(null, admin -> { });
+
+        assertEquals(List.of("closed"), closed);
+    }
+
+    // =========================
+    // BULK USER LOOKUP
+    // =========================
+    @Test
+    void lookupKeepsRequestOrderAndDropsDuplicatesNullsAndUnknownIds() {
+        when(userRepository.findAuthViewsByIdIn(List.of(7L, 3L, 99L))).thenReturn(List.of(view(3L), view(7L)));
+
+        List<UserLookupResponse> users = userService.lookupUsers(Arrays.asList(7L, null, 3L, 7L, 99L));
+
+        assertEquals(List.of(7L, 3L), users.stream().map(UserLookupResponse::getId).toList());
+        assertEquals("user3@example.com", users.get(1).getEmail());
+        assertEquals("LOCAL", users.get(1).getProvider());
+    }
+
+    @Test
+    void repeatedLookupsOnlyLoadWhatIsNotCached() {
+        when(userRepository.findAuthViewsByIdIn(List.of(3L))).thenReturn(List.of(view(3L)));
+        when(userRepository.findAuthViewsByIdIn(List.of(4L))).thenReturn(List.of(view(4L)));
+
+        userService.lookupUsers(List.of(3L));
+        List<UserLookupResponse> users = userService.lookupUsers(List.of(3L, 4L));
+
+        assertEquals(List.of(3L, 4L), users.stream().map(UserLookupResponse::getId).toList());
+        verify(userRepository, times(1)).findAuthViewsByIdIn(List.of(3L));
+        verify(userRepository, times(1)).findAuthViewsByIdIn(List.of(4L));
+    }
+
+    // =========================
+    // BULK ADMIN STATUS
+    // =========================
+    @Test
+    void bulkStatusClassifiesEveryKindOfId() {
+        // 1 active ADMIN, 2 SUPER_ADMIN, 3 CUSTOMER, 4 unknown, 5 ADMIN already inactive
+        when(userRepository.updateAdminsActive(eq(List.of(1L, 2L, 3L, 4L, 5L)), eq(false), any(LocalDateTime.class), eq(ADMIN_ROLE_ID)))
+                .thenReturn(List.of(1L));
+        when(userRepository.findAuthViewsByIdIn(List.of(2L, 3L, 4L, 5L))).thenReturn(List.of(
+                view(2L, RoleName.SUPER_ADMIN, true),
+                view(3L, RoleName.CUSTOMER, true),
+                view(5L, RoleName.ADMIN, false)));
+
+        List<AdminBulkResult> results = userService.changeAdminStatuses(Arrays.asList(1L, 2L, 3L, 1L, null, 4L, 5L), false);
+
+        assertEquals(List.of(
+                new AdminBulkResult(1L, AdminBulkOutcome.UPDATED),
+                new AdminBulkResult(2L, AdminBulkOutcome.NOT_ADMIN),
+                new AdminBulkResult(3L, AdminBulkOutcome.NOT_ADMIN),
+                new AdminBulkResult(4L, AdminBulkOutcome.NOT_FOUND),
+                new AdminBulkResult(5L, AdminBulkOutcome.UNCHANGED)), results);
+    }
+
+    @Test
+    void bulkStatusWhereEverythingChangedSkipsTheClassificationQuery() {
+        when(userRepository.updateAdminsActive(eq(List.of(1L, 2L)), eq(true), any(LocalDateTime.class), eq(ADMIN_ROLE_ID)))
+                .thenReturn(List.of(2L, 1L));
+
+        List<AdminBulkResult> results = userService.changeAdminStatuses(List.of(1L, 2L), true);
+
+        assertEquals(List.of(
+                new AdminBulkResult(1L, AdminBulkOutcome.UPDATED),
+                new AdminBulkResult(2L, AdminBulkOutcome.UPDATED)), results);
+        verify(userRepository, never()).findAuthViewsByIdIn(any());
+    }
+
+    @Test
+    void deletingNoAdminsRunsNoStatement() {
+        assertEquals(List.of(), userService.deleteAdmins(List.of()));
+
+        verify(userRepository, never()).deleteAdmins(any(), any());
+        verify(userRepository, never()).updateAdminsActive(any(), anyBoolean(), any(), any());
+    }
+
+    // =========================
+    // HELPERS
+    // =========================
+    private static AdminSummaryResponse admin(Long id) {
+        return new AdminSummaryResponse(id, "admin" + id + "@example.com", true);
+    }
+
+    private static UserAuthView view(Long id) {
+        return new UserAuthView(id, "user" + id + "@example.com", "98765432" + id, "{bcrypt}hash", true, "LOCAL", "CUSTOMER");
+    }
+
+    private static UserAuthView view(Long id, RoleName role, boolean active) {
+        return new UserAuthView(id, "user" + id + "@example.com", null, "{bcrypt}hash", active, "LOCAL", role.name());
+    }
+}